@@ -0,0 +1,30 @@
+package de.whs.wi.tictactoe;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Startet die JMH-Benchmarks immer mit dem GC-Profiler (gc.alloc.rate.norm = Bytes/Op).
+ * <p>
+ * Bauen und starten:
+ * <pre>
+ * mvn -P benchmark package
+ * java -jar target/benchmarks.jar                       # alle Benchmarks
+ * java -jar target/benchmarks.jar TrainingsBenchmark    # Auswahl per Regex, sonstige JMH-Optionen wie gewohnt
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options optionen = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(optionen).run();
+    }
+}
@@ -0,0 +1,80 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+/**
+ * Experience Replay: Aufzeichnen eines Übergangs und Lernen aus einem Stapel, gleichverteilt
+ * und priorisiert, auf einem vollen Puffer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReplayBenchmark {
+    private static final int KAPAZITAET = 1 << 16;
+    private static final int STAPEL = 16;
+    private static final double ALPHA = 0.2;
+    private static final double GAMMA = 0.95;
+
+    @Param({"false", "true"})
+    public boolean priorisiert;
+
+    private QTabelle qTabelle;
+    private ReplayPuffer puffer;
+    private RandomGenerator random;
+    private int[] zustaende;
+    private int[] aktionen;
+    private int[] folgeZustaende;
+    private boolean[] enden;
+    private int naechste;
+
+    @Setup
+    public void setup() {
+        qTabelle = new QTabelle();
+        random = Zufall.erzeuge(42);
+        puffer = new ReplayPuffer(KAPAZITAET, STAPEL, priorisiert);
+
+        zustaende = Stellungen.zustaende(42);
+        aktionen = new int[Stellungen.ANZAHL];
+        folgeZustaende = new int[Stellungen.ANZAHL];
+        enden = new boolean[Stellungen.ANZAHL];
+        BitSpielfeld spielfeld = new BitSpielfeld();
+        for (int i = 0; i < Stellungen.ANZAHL; i++) {
+            spielfeld.ladeZustand(zustaende[i]);
+            int leer = spielfeld.leereFelder();
+            aktionen[i] = BitSpielfeld.ntesFeld(leer, i % Integer.bitCount(leer));
+            spielfeld.setze(aktionen[i], spielfeld.amZug());
+            folgeZustaende[i] = spielfeld.zustandsIndex();
+            enden[i] = spielfeld.istBeendet();
+        }
+        for (int i = 0; i < KAPAZITAET; i++) {
+            zeichneAuf();
+        }
+    }
+
+    @Benchmark
+    public void zeichneAuf() {
+        int i = naechste++ & Stellungen.MASKE;
+        puffer.zeichneAuf(qTabelle, zustaende[i], aktionen[i], enden[i] ? 1.0 : 0.0, folgeZustaende[i], enden[i]);
+    }
+
+    @Benchmark
+    public void lerneStapel() {
+        puffer.lerneStapel(qTabelle, ALPHA, GAMMA, random);
+    }
+}
@@ -0,0 +1,96 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tictactoe.Farbe;
+import tictactoe.TicTacToe;
+import tictactoe.Zug;
+import tictactoe.spieler.AbbruchNachIterationen;
+import tictactoe.spieler.ISpieler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+/**
+ * Wettkampf-Hotpath: Heuristik-Zug einzeln und über die ISpieler-Schnittstelle sowie ganze
+ * Spiele über {@link TicTacToe#neuesSpiel} der Bibliothek.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpielBenchmark {
+    private final RandomGenerator random = Zufall.erzeuge(42);
+    private int[] eigene;
+    private int[] gegner;
+    private int naechste;
+
+    private final HeuristikSpieler heuristikKreuz = new HeuristikSpieler("Kreuz", random);
+    private final HeuristikSpieler heuristikKreis = new HeuristikSpieler("Kreis", random);
+    private final BitSpielfeld spielfeld = new BitSpielfeld();
+
+    private final TicTacToe ticTacToe = new TicTacToe();
+    private final ISpieler heuristik = new HeuristikSpieler("Heuristik", random);
+    private final ISpieler zufall = new ZufallsGegner("Zufall", random);
+    private ISpieler politik;
+
+    @Setup
+    public void setup() {
+        int[] zustaende = Stellungen.zustaende(42);
+        eigene = new int[Stellungen.ANZAHL];
+        gegner = new int[Stellungen.ANZAHL];
+        BitSpielfeld stellung = new BitSpielfeld();
+        for (int i = 0; i < Stellungen.ANZAHL; i++) {
+            stellung.ladeZustand(zustaende[i]);
+            Farbe amZug = stellung.amZug();
+            eigene[i] = stellung.maske(amZug);
+            gegner[i] = stellung.maske(amZug.opposite());
+        }
+        QLearningSpielerHeuristik agent = new QLearningSpielerHeuristik("Politik");
+        agent.setSeed(42);
+        agent.trainieren(new AbbruchNachIterationen(200_000));
+        politik = agent.wettkampfSpieler();
+    }
+
+    @Benchmark
+    public int heuristikBerechneFeld() {
+        int i = naechste++ & Stellungen.MASKE;
+        return HeuristikSpieler.berechneFeld(eigene[i], gegner[i], random);
+    }
+
+    // Heuristik gegen Heuristik, jeder Zug über berechneZug (Ergebnis: Spiele/µs)
+    @Benchmark
+    public int heuristikBerechneZug() throws Exception {
+        heuristikKreuz.neuesSpiel(Farbe.Kreuz, 0);
+        heuristikKreis.neuesSpiel(Farbe.Kreis, 0);
+        spielfeld.leeren();
+        Farbe amZug = Farbe.Kreuz;
+        Zug zug = null;
+        while (!spielfeld.istBeendet()) {
+            zug = (amZug == Farbe.Kreuz ? heuristikKreuz : heuristikKreis).berechneZug(zug, 0, 0);
+            spielfeld.setze(BitSpielfeld.feld(zug), amZug);
+            amZug = amZug.opposite();
+        }
+        return spielfeld.zustandsIndex();
+    }
+
+    @Benchmark
+    public ISpieler ticTacToeHeuristikGegenZufall() {
+        return ticTacToe.neuesSpiel(heuristik, zufall, 1, false);
+    }
+
+    @Benchmark
+    public ISpieler ticTacToePolitikGegenHeuristik() {
+        return ticTacToe.neuesSpiel(politik, heuristik, 1, false);
+    }
+}
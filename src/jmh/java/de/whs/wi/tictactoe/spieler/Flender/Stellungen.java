@@ -0,0 +1,32 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Zufällige, aber reproduzierbare Stellungen als Eingaben der Benchmarks, damit der JIT nicht
+ * auf einen einzigen Zustand spezialisiert.
+ */
+final class Stellungen {
+    static final int ANZAHL = 1024; // Zweierpotenz, Index per Maske
+    static final int MASKE = ANZAHL - 1;
+
+    private Stellungen() {
+    }
+
+    /**
+     * @param seed Startwert.
+     * @return {@link #ANZAHL} erreichbare, nicht beendete Zustände (mehrfach möglich).
+     */
+    static int[] zustaende(long seed) {
+        RandomGenerator random = Zufall.erzeuge(seed);
+        ZustandsRaum raum = ZustandsRaum.VOLL;
+        int[] zustaende = new int[ANZAHL];
+        for (int i = 0; i < ANZAHL; ) {
+            int zeile = random.nextInt(raum.anzahlZeilen());
+            if (raum.legaleAktionen(zeile) != 0) {
+                zustaende[i++] = raum.zustand(zeile);
+            }
+        }
+        return zustaende;
+    }
+}
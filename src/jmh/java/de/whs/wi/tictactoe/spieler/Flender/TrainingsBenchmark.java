@@ -0,0 +1,131 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tictactoe.Farbe;
+import tictactoe.spieler.AbbruchNachIterationen;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trainings-Hotpath beider Q-Learning-Spieler: Aktionswahl, Q-Update und ein ganzes
+ * Trainingsspiel (simuliereEinSpiel/s = Episoden/s).
+ * <p>
+ * Aktionswahl und Q-Update laufen über feste Stichproben von Stellungen; das Laden der Stellung
+ * ins Spielfeld ist enthalten und mit {@link #ladeZustand()} getrennt gemessen.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrainingsBenchmark {
+    private static final int TRAININGS_RUNDEN = 200_000; // realistische Q-Werte statt leerer Tabelle
+    private static final double EPSILON = 0.1; // MIN_EPSILON der Spieler
+
+    private QLearningSpielerHeuristik heuristik;
+    private QLearningSpielerRandom zufall;
+    private TrainingsKontext heuristikKontext;
+    private TrainingsKontext zufallKontext;
+
+    private int[] zustaende;      // Stellung vor dem Zug
+    private int[] aktionen;       // legale Aktion in der Stellung
+    private int[] folgeZustaende; // Stellung nach dem Zug
+    private int naechste;
+    private Farbe startFarbe = Farbe.Kreuz;
+
+    @Setup
+    public void setup() {
+        heuristik = new QLearningSpielerHeuristik("Benchmark");
+        heuristik.setSeed(42);
+        heuristik.trainieren(new AbbruchNachIterationen(TRAININGS_RUNDEN));
+        zufall = new QLearningSpielerRandom("Benchmark");
+        zufall.setSeed(42);
+        zufall.trainieren(new AbbruchNachIterationen(TRAININGS_RUNDEN));
+        heuristikKontext = kontext(heuristik.qTabelle());
+        zufallKontext = kontext(zufall.qTabelle());
+
+        zustaende = Stellungen.zustaende(42);
+        aktionen = new int[Stellungen.ANZAHL];
+        folgeZustaende = new int[Stellungen.ANZAHL];
+        BitSpielfeld spielfeld = new BitSpielfeld();
+        for (int i = 0; i < Stellungen.ANZAHL; i++) {
+            spielfeld.ladeZustand(zustaende[i]);
+            int leer = spielfeld.leereFelder();
+            aktionen[i] = BitSpielfeld.ntesFeld(leer, i % Integer.bitCount(leer));
+            spielfeld.setze(aktionen[i], spielfeld.amZug());
+            folgeZustaende[i] = spielfeld.zustandsIndex();
+        }
+    }
+
+    private static TrainingsKontext kontext(QTabelle qTabelle) {
+        TrainingsKontext kontext = new TrainingsKontext(qTabelle, Zufall.erzeuge(42));
+        kontext.epsilon = EPSILON;
+        return kontext;
+    }
+
+    private int naechste() {
+        return naechste++ & Stellungen.MASKE;
+    }
+
+    // --- Referenz: Stellung laden ---
+
+    @Benchmark
+    public int ladeZustand() {
+        heuristikKontext.spielfeld.ladeZustand(zustaende[naechste()]);
+        return heuristikKontext.spielfeld.leereFelder();
+    }
+
+    // --- waehleAktion ---
+
+    @Benchmark
+    public int waehleAktionHeuristik() {
+        heuristikKontext.spielfeld.ladeZustand(zustaende[naechste()]);
+        return heuristik.waehleAktion(heuristikKontext);
+    }
+
+    @Benchmark
+    public int waehleAktionZufall() {
+        zufallKontext.spielfeld.ladeZustand(zustaende[naechste()]);
+        return zufall.waehleAktion(zufallKontext);
+    }
+
+    // --- updateQ ---
+
+    @Benchmark
+    public void updateQHeuristik() {
+        int i = naechste();
+        heuristikKontext.spielfeld.ladeZustand(folgeZustaende[i]);
+        heuristik.updateQ(heuristikKontext, zustaende[i], aktionen[i], 0.0);
+    }
+
+    @Benchmark
+    public void updateQZufall() {
+        int i = naechste();
+        zufallKontext.spielfeld.ladeZustand(folgeZustaende[i]);
+        zufall.updateQ(zufallKontext, zustaende[i], aktionen[i], 0.0);
+    }
+
+    // --- simuliereEinSpiel (Episoden/s) ---
+
+    @Benchmark
+    public void simuliereEinSpielHeuristik() {
+        startFarbe = startFarbe.opposite();
+        heuristik.simuliereEinSpiel(startFarbe, heuristikKontext);
+    }
+
+    @Benchmark
+    public void simuliereEinSpielZufall() {
+        startFarbe = startFarbe.opposite();
+        zufall.simuliereEinSpiel(startFarbe, zufallKontext);
+    }
+}
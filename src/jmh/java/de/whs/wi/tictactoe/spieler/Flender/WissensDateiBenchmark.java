@@ -0,0 +1,76 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Speichern und Laden des Wissens wie in {@code speichereWissen}/{@code ladeWissen} der
+ * Q-Learning-Spieler (Wissensdatei plus Politik), ohne deren Konsolenausgabe.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WissensDateiBenchmark {
+    @Param({"false", "true"})
+    public boolean symmetrisch;
+
+    private Path verzeichnis;
+    private String dateiPfad;
+    private QTabelle qTabelle;
+
+    @Setup
+    public void setup() throws IOException {
+        verzeichnis = Files.createTempDirectory("wissen-benchmark");
+        dateiPfad = verzeichnis.resolve("wissen.bin").toString();
+        qTabelle = new QTabelle(symmetrisch);
+        ZustandsRaum raum = ZustandsRaum.VOLL;
+        for (int zeile = 0; zeile < raum.anzahlZeilen(); zeile++) {
+            int zustand = raum.zustand(zeile);
+            for (int legal = raum.legaleAktionen(zeile); legal != 0; legal &= legal - 1) {
+                qTabelle.setzeWert(zustand, Integer.numberOfTrailingZeros(legal), zustand * 1e-4);
+            }
+        }
+        speichereWissen();
+    }
+
+    @TearDown
+    public void aufraeumen() throws IOException {
+        try (Stream<Path> dateien = Files.walk(verzeichnis)) {
+            for (Path datei : (Iterable<Path>) dateien.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(datei);
+            }
+        }
+    }
+
+    @Benchmark
+    public void speichereWissen() throws IOException {
+        WissensDatei.schreibe(dateiPfad, qTabelle, 0.1, 1_000_000);
+        WissensDatei.schreibePolitik(WissensDatei.politikPfad(dateiPfad), Politik.aus(qTabelle), qTabelle, 1_000_000);
+    }
+
+    @Benchmark
+    public Politik ladeWissen() throws IOException {
+        WissensDatei.Inhalt inhalt = WissensDatei.lade(dateiPfad);
+        return WissensDatei.ladePolitik(WissensDatei.politikPfad(dateiPfad), inhalt.qTabelle(), inhalt.runden());
+    }
+}
@@ -0,0 +1,62 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tictactoe.Spielfeld;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Zustandsindex über das {@link Spielfeld} der Bibliothek
+ * ({@link QLearningSpieler#berechneZustandsIndex}) gegenüber dem inkrementell
+ * mitgeführten Index des {@link BitSpielfeld} (Zug setzen und zurücknehmen).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZustandsIndexBenchmark {
+    private Spielfeld[] spielfelder;
+    private BitSpielfeld[] bitSpielfelder;
+    private int[] aktionen;
+    private int naechste;
+
+    @Setup
+    public void setup() {
+        int[] zustaende = Stellungen.zustaende(42);
+        spielfelder = new Spielfeld[Stellungen.ANZAHL];
+        bitSpielfelder = new BitSpielfeld[Stellungen.ANZAHL];
+        aktionen = new int[Stellungen.ANZAHL];
+        for (int i = 0; i < Stellungen.ANZAHL; i++) {
+            bitSpielfelder[i] = new BitSpielfeld();
+            bitSpielfelder[i].ladeZustand(zustaende[i]);
+            spielfelder[i] = bitSpielfelder[i].zuSpielfeld();
+            aktionen[i] = Integer.numberOfTrailingZeros(bitSpielfelder[i].leereFelder());
+        }
+    }
+
+    @Benchmark
+    public int berechneZustandsIndex() {
+        return QLearningSpieler.berechneZustandsIndex(spielfelder[naechste++ & Stellungen.MASKE]);
+    }
+
+    @Benchmark
+    public int bitSpielfeldZug() {
+        int i = naechste++ & Stellungen.MASKE;
+        BitSpielfeld spielfeld = bitSpielfelder[i];
+        spielfeld.setze(aktionen[i], spielfeld.amZug());
+        int zustand = spielfeld.zustandsIndex();
+        spielfeld.entferne(aktionen[i]);
+        return zustand;
+    }
+}
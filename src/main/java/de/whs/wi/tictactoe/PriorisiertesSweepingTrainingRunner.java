@@ -0,0 +1,43 @@
+package de.whs.wi.tictactoe;
+
+import de.whs.wi.tictactoe.spieler.Flender.Belohnungen;
+import de.whs.wi.tictactoe.spieler.Flender.Evaluierung;
+import de.whs.wi.tictactoe.spieler.Flender.ExakteEvaluierung;
+import de.whs.wi.tictactoe.spieler.Flender.GegnerModell;
+import de.whs.wi.tictactoe.spieler.Flender.HeuristikSpieler;
+import de.whs.wi.tictactoe.spieler.Flender.Minimax;
+import de.whs.wi.tictactoe.spieler.Flender.PriorisiertesSweepingSpieler;
+import tictactoe.spieler.AbbruchNachIterationen;
+
+import java.io.IOException;
+
+/**
+ * Trainiert den Prioritized-Sweeping-Spieler gegen den Heuristik-Spieler und speichert die
+ * Q-Tabelle im selben Format wie die Q-Learning-Runner.
+ */
+public class PriorisiertesSweepingTrainingRunner {
+    private static final long ANZAHL_SPIELE = 1_000_000; // Spiele je Evaluierung
+    private static final int TRAININGS_SPIELE = 100_000;
+
+    public static void main(String[] args) {
+        PriorisiertesSweepingSpieler agent = new PriorisiertesSweepingSpieler("Flender-Sweeping", Belohnungen.HEURISTIK);
+
+        long startTime = System.currentTimeMillis();
+        agent.trainieren(new AbbruchNachIterationen(TRAININGS_SPIELE));
+        long endTime = System.currentTimeMillis();
+        System.out.println("Prioritized Sweeping beendet nach " + agent.getRunden()
+                + " Trainingsspielen. Gesamtdauer in Sekunden: " + ((endTime - startTime) / 1000.0));
+        agent.getMetriken().stand().ausgeben();
+
+        Evaluierung.spiele(agent::wettkampfSpieler, () -> new HeuristikSpieler("Heuristik"), ANZAHL_SPIELE,
+                Runtime.getRuntime().availableProcessors()).ausgeben();
+        ExakteEvaluierung.bewerte(agent.getPolitik(), GegnerModell.HEURISTIK).ausgeben();
+        Minimax.pruefe(agent.getPolitik()).ausgeben();
+
+        try {
+            agent.speichereWissen("wissenSweepingHeuristik.bin");
+        } catch (IOException e) {
+            System.err.println("Fehler beim Speichern des Wissens: " + e.getMessage());
+        }
+    }
+}
@@ -2,18 +2,29 @@
 // File: `src/main/java/de/whs/wi/tictactoe/spieler/Flender/TrainingRunner.java`
 package de.whs.wi.tictactoe;
 
+import de.whs.wi.tictactoe.spieler.Flender.AbbruchNachKonvergenz;
+import de.whs.wi.tictactoe.spieler.Flender.CheckpointSchreiber;
+import de.whs.wi.tictactoe.spieler.Flender.Evaluierung;
+import de.whs.wi.tictactoe.spieler.Flender.ExakteEvaluierung;
+import de.whs.wi.tictactoe.spieler.Flender.GegnerModell;
+import de.whs.wi.tictactoe.spieler.Flender.Minimax;
+import de.whs.wi.tictactoe.spieler.Flender.Politik;
 import de.whs.wi.tictactoe.spieler.Flender.QLearningSpielerHeuristik;
+import de.whs.wi.tictactoe.spieler.Flender.WissensDatei;
 import de.whs.wi.tictactoe.spieler.Flender.HeuristikSpieler;
-import tictactoe.TicTacToe;
 import tictactoe.spieler.AbbruchNachIterationen;
 import tictactoe.spieler.ILernenderSpieler;
 import tictactoe.spieler.ISpieler;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 
 public class QLearningHeuristicTrainingRunner {
+    private static final long ANZAHL_SPIELE = 1_000_000; // Spiele je Evaluierung
+
     public static void main(String[] args) {
-        ISpieler heuristikSpieler = new HeuristikSpieler("Heuristik");
         ILernenderSpieler agent = new QLearningSpielerHeuristik("Flender-QLearner-Agent");
 
         // --- Wissen zuerst laden ---
@@ -23,73 +34,96 @@ public class QLearningHeuristicTrainingRunner {
         } catch (IOException e) {
             System.out.println("Kein vorhandenes Wissen gefunden, starte neu.");
         }
+
+        // --- Abgebrochenes Training aus dem Checkpoint fortsetzen ---
+        String checkpointPfad = "checkpointHeuristik.bin";
+        boolean fortgesetzt = false;
+        if (agent instanceof QLearningSpielerHeuristik qAgent && Files.exists(Path.of(checkpointPfad))) {
+            try {
+                qAgent.ladeCheckpoint(checkpointPfad);
+                fortgesetzt = true;
+            } catch (IOException e) {
+                System.out.println("Checkpoint konnte nicht geladen werden, starte neu: " + e.getMessage());
+            }
+        }
         System.out.println("===================================================================");
 
-        TicTacToe spiel = new TicTacToe();
-        ISpieler gewinner;
-        int gewinneHeuristik;
-        int gewinneAgent;
-        int unentschieden;
+        int anzahlThreads = Runtime.getRuntime().availableProcessors();
         double trainingIterations = 1e8;
 
         // Evaluate Before Training (Dies ist nun die Evaluierung des geladenen Zustands)
-        gewinneHeuristik = 0;
-        gewinneAgent = 0;
         System.out.println("Status vor dem Training:");
-        System.out.println(heuristikSpieler.getName() + " vs. " + agent.getName());
-        System.out.println("=========================================================");
-        for (int i = 0; i < 1000; i++) {
-            gewinner = spiel.neuesSpiel(heuristikSpieler, agent, 150, false);
-            if (gewinner == heuristikSpieler) gewinneHeuristik++;
-            else if (gewinner == agent) gewinneAgent++;
-
-            gewinner = spiel.neuesSpiel(agent, heuristikSpieler, 150, false);
-            if (gewinner == heuristikSpieler) gewinneHeuristik++;
-            else if (gewinner == agent) gewinneAgent++;
-        }
-        System.out.println("Gewinne " + heuristikSpieler.getName() + ": " + gewinneHeuristik);
-        System.out.println("Gewinne " + agent.getName() + ": " + gewinneAgent);
-        System.out.println("=========================================================");
+        evaluiere(agent, anzahlThreads);
 
         // Training Phase (iterations)
-        System.out.printf("Starte Training mit %d Iterationen. Bitte warten...", ((int)trainingIterations));
         long startTime = System.currentTimeMillis();
-        agent.trainieren(new AbbruchNachIterationen((int) trainingIterations));
+        // Nach dem Fortsetzen zählen die Runden aus dem Checkpoint zum Budget
+        long iterationen = (long) trainingIterations;
+        if (fortgesetzt && agent instanceof QLearningSpielerHeuristik qAgent) {
+            iterationen -= qAgent.getRunden();
+        }
+        if (iterationen <= 0) {
+            System.out.printf("Trainingsbudget von %d Iterationen ist schon ausgeschöpft, kein weiteres Training.%n",
+                    (long) trainingIterations);
+        } else if (agent instanceof QLearningSpielerHeuristik qAgent) {
+            System.out.printf("Starte Training mit höchstens %d Iterationen. Bitte warten...", iterationen);
+            // Paralleles Training auf allen Kernen, jede Minute ein Checkpoint im Hintergrund
+            // (nur geänderte Zustände, jeder zehnte Checkpoint schreibt die ganze Q-Tabelle)
+            // Abbruch, sobald sich die gierige Politik über drei Fenster à 1 Mio. Runden kaum noch ändert
+            // (frühestens nach dem Epsilon-Decay), spätestens nach trainingIterations
+            AbbruchNachKonvergenz konvergenz = AbbruchNachKonvergenz.alle(1_000_000)
+                    .mitPolitikAenderungen(10)
+                    .mitMittlererQAenderung(1e-3)
+                    .mitGeduld(3)
+                    .mitMindestRunden(500_000)
+                    .mitMaxRunden(iterationen);
+            try (CheckpointSchreiber checkpoint = CheckpointSchreiber.nachZeit(checkpointPfad, Duration.ofMinutes(1))
+                    .mitDeltas(10)) {
+                qAgent.setCheckpoint(checkpoint);
+                qAgent.trainieren(konvergenz, anzahlThreads);
+                qAgent.setCheckpoint(null);
+            }
+            System.out.println("Training nach " + konvergenz.getRunden() + " Runden beendet: " + konvergenz.getGrund());
+        } else {
+            System.out.printf("Starte Training mit höchstens %d Iterationen. Bitte warten...", iterationen);
+            agent.trainieren(new AbbruchNachIterationen((int) trainingIterations));
+        }
         if (agent instanceof QLearningSpielerHeuristik qAgent) {
             qAgent.setEpsilon(0.0); // Setze Epsilon nach dem Training auf einen niedrigen Wert
         }
         long endTime = System.currentTimeMillis();
         System.out.println("Training beendet. Gesamtdauer in Sekunden: " + ((endTime - startTime) / 1000.0));
+        if (agent instanceof QLearningSpielerHeuristik qAgent) {
+            qAgent.getMetriken().stand().ausgeben(); // Durchsatz und Konvergenz der letzten Episoden
+        }
 
         // Evaluate After Training
-        gewinneHeuristik = 0;
-        gewinneAgent = 0;
-        unentschieden = 0;
         System.out.println("Nach dem Training:");
-        System.out.println(heuristikSpieler.getName() + " vs. " + agent.getName());
-        System.out.println("=========================================================");
-        for (int i = 0; i < 1000; i++) {
-            gewinner = spiel.neuesSpiel(heuristikSpieler, agent, 150, false);
-            if (gewinner == heuristikSpieler) gewinneHeuristik++;
-            else if (gewinner == agent) gewinneAgent++;
-            else unentschieden++;
-
-            gewinner = spiel.neuesSpiel(agent, heuristikSpieler, 150, false);
-            if (gewinner == heuristikSpieler) gewinneHeuristik++;
-            else if (gewinner == agent) gewinneAgent++;
-            else unentschieden++;
-        }
-        System.out.println("Gewinne " + heuristikSpieler.getName() + ": " + gewinneHeuristik);
-        System.out.println("Unentschieden: " + unentschieden);
-        System.out.println("Gewinne " + agent.getName() + ": " + gewinneAgent);
-        System.out.println("=========================================================");
+        evaluiere(agent, anzahlThreads);
 
         // Save Learned Knowledge
         try {
             agent.speichereWissen("wissenHeuristik.bin");
             System.out.println("Wissen gegen Heuristik-Spieler gespeichert.");
+            // Training vollständig, Checkpoint wird nicht mehr gebraucht
+            Files.deleteIfExists(Path.of(checkpointPfad));
+            Files.deleteIfExists(Path.of(WissensDatei.deltaPfad(checkpointPfad)));
         } catch (IOException e) {
             System.err.println("Fehler beim Speichern des Wissens: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    // Je Thread ein eigener Wettkampfspieler mit dem aktuellen Wissen des Agenten, dazu die exakte
+    // Bewertung seiner Politik gegen das Modell des Gegners und ihre Fehler gegenüber perfektem Spiel
+    private static void evaluiere(ILernenderSpieler agent, int anzahlThreads) {
+        if (agent instanceof QLearningSpielerHeuristik qAgent) {
+            Evaluierung.spiele(qAgent::wettkampfSpieler, () -> new HeuristikSpieler("Heuristik"), ANZAHL_SPIELE, anzahlThreads)
+                    .ausgeben();
+            Politik politik = qAgent.getPolitik();
+            ExakteEvaluierung.bewerte(politik, GegnerModell.HEURISTIK).ausgeben();
+            Minimax.pruefe(politik).ausgeben();
+        } else {
+            Evaluierung.spiele(() -> agent, () -> new HeuristikSpieler("Heuristik"), ANZAHL_SPIELE, 1).ausgeben();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package de.whs.wi.tictactoe;
+
+import de.whs.wi.tictactoe.spieler.Flender.Belohnungen;
+import de.whs.wi.tictactoe.spieler.Flender.Evaluierung;
+import de.whs.wi.tictactoe.spieler.Flender.ExakteEvaluierung;
+import de.whs.wi.tictactoe.spieler.Flender.GegnerModell;
+import de.whs.wi.tictactoe.spieler.Flender.HeuristikSpieler;
+import de.whs.wi.tictactoe.spieler.Flender.Minimax;
+import de.whs.wi.tictactoe.spieler.Flender.WertIterationsSpieler;
+import de.whs.wi.tictactoe.spieler.Flender.ZufallsGegner;
+import tictactoe.spieler.AbbruchNachIterationen;
+import tictactoe.spieler.ISpieler;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * Löst die Q-Tabelle gegen Heuristik- und Zufallsgegner per Wertiteration und speichert sie im
+ * selben Format wie die Q-Learning-Runner.
+ */
+public class WertIterationTrainingRunner {
+    private static final long ANZAHL_SPIELE = 1_000_000; // Spiele je Evaluierung
+    private static final int MAX_SWEEPS = 100;
+
+    public static void main(String[] args) {
+        // Jeweils mit den Rewards des Q-Learning-Spielers gegen denselben Gegner (gleiche Ziele, nicht gleiche Tabelle)
+        loese(GegnerModell.HEURISTIK, Belohnungen.HEURISTIK, () -> new HeuristikSpieler("Heuristik"),
+                "wissenWertIterationHeuristik.bin");
+        loese(GegnerModell.ZUFALL, Belohnungen.ZUFALL, () -> new ZufallsGegner("Zufall"),
+                "wissenWertIterationZufall.bin");
+    }
+
+    private static void loese(GegnerModell modell, Belohnungen belohnungen, Supplier<ISpieler> gegner,
+                              String dateiPfad) {
+        WertIterationsSpieler agent = new WertIterationsSpieler("Flender-Wertiteration", modell, belohnungen);
+
+        long startTime = System.currentTimeMillis();
+        agent.trainieren(new AbbruchNachIterationen(MAX_SWEEPS));
+        long endTime = System.currentTimeMillis();
+        System.out.println("Wertiteration gegen " + modell + " beendet nach " + agent.getSweeps()
+                + " Sweeps. Gesamtdauer in Sekunden: " + ((endTime - startTime) / 1000.0));
+
+        Evaluierung.spiele(agent::wettkampfSpieler, gegner, ANZAHL_SPIELE, Runtime.getRuntime().availableProcessors())
+                .ausgeben();
+        ExakteEvaluierung.bewerte(agent.getPolitik(), modell).ausgeben();
+        Minimax.pruefe(agent.getPolitik()).ausgeben();
+
+        try {
+            agent.speichereWissen(dateiPfad);
+        } catch (IOException e) {
+            System.err.println("Fehler beim Speichern des Wissens: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import tictactoe.spieler.IAbbruchbedingung;
+
+import java.time.Duration;
+
+/**
+ * Beendet das Training, sobald sich die Q-Tabelle kaum noch ändert, statt nach einer festen
+ * Anzahl Runden.
+ * <p>
+ * Jeder Aufruf von {@link #abbruch()} zählt als eine Runde. Alle {@code fensterRunden} Runden
+ * wird die Q-Tabelle mit ihrem Stand vom Ende des vorherigen Fensters verglichen: größte und
+ * mittlere Änderung |ΔQ| sowie die Anzahl der Zustände, deren gierige Aktion sich geändert hat.
+ * Erfüllt das Fenster alle gesetzten Kriterien ({@link #mitMaxQAenderung},
+ * {@link #mitMittlererQAenderung}, {@link #mitPolitikAenderungen}) und das {@link #mitGeduld}
+ * Fenster in Folge, gilt das Training als konvergiert. Ohne gesetztes Kriterium greifen nur
+ * die Grenzen {@link #mitMaxRunden} und {@link #mitZeitlimit} (ab Erzeugung, wie bei
+ * {@code AbbruchNachZeit}).
+ * <p>
+ * Die lernenden Spieler melden ihre Q-Tabelle zu Beginn von {@code trainieren} selbst an. Beim
+ * Shard-Training ändert sich die Master-Tabelle nur beim Zusammenführen, das Fenster sollte
+ * dann mehrere Zusammenführungen umfassen. Nicht thread-sicher; beim parallelen Training wird
+ * die Bedingung über {@link SynchronisierteAbbruchbedingung} abgefragt.
+ */
+public final class AbbruchNachKonvergenz implements IAbbruchbedingung {
+    private static final int ZEIT_PRUEFINTERVALL = 1024; // Runden zwischen zwei Blicken auf die Uhr
+
+    /**
+     * Grund, aus dem das Training beendet wurde.
+     */
+    public enum Grund {
+        KONVERGIERT, MAX_RUNDEN, ZEITLIMIT
+    }
+
+    private final long fensterRunden;
+    private double maxQAenderung = Double.NaN; // NaN = Kriterium nicht gesetzt
+    private double mittlereQAenderung = Double.NaN;
+    private int politikAenderungen = -1; // -1 = Kriterium nicht gesetzt
+    private int geduld = 1;
+    private long mindestRunden;
+    private long maxRunden = Long.MAX_VALUE;
+    private long ende = Long.MAX_VALUE; // nanoTime des Zeitlimits, MAX_VALUE = keins
+    private final long start = System.nanoTime();
+
+    // Beobachtete Tabelle, ihr Stand am Ende des letzten Fensters und dessen gierige Aktionen
+    private QTabelle qTabelle;
+    private double[] vorher;
+    private int[] zeilen;
+    private int[] aktionenVorher;
+    private int[] aktionen;
+
+    private long runden;
+    private int konvergierteFenster;
+    private Grund grund;
+    private double letzteMaxAenderung = Double.NaN;
+    private double letzteMittlereAenderung = Double.NaN;
+    private int letztePolitikAenderungen = -1;
+
+    private AbbruchNachKonvergenz(long fensterRunden) {
+        if (fensterRunden <= 0) {
+            throw new IllegalArgumentException("Fenster muss mindestens eine Runde umfassen: " + fensterRunden);
+        }
+        this.fensterRunden = fensterRunden;
+    }
+
+    /**
+     * @param fensterRunden Runden zwischen zwei Vergleichen der Q-Tabelle.
+     */
+    public static AbbruchNachKonvergenz alle(long fensterRunden) {
+        return new AbbruchNachKonvergenz(fensterRunden);
+    }
+
+    /**
+     * @param schwelle Konvergiert, wenn kein Q-Wert sich im Fenster um mehr als die Schwelle ändert.
+     * @return this
+     */
+    public AbbruchNachKonvergenz mitMaxQAenderung(double schwelle) {
+        this.maxQAenderung = schwelle;
+        return this;
+    }
+
+    /**
+     * @param schwelle Konvergiert, wenn die mittlere Änderung |ΔQ| im Fenster höchstens die Schwelle ist.
+     * @return this
+     */
+    public AbbruchNachKonvergenz mitMittlererQAenderung(double schwelle) {
+        this.mittlereQAenderung = schwelle;
+        return this;
+    }
+
+    /**
+     * @param hoechstens Konvergiert, wenn sich im Fenster höchstens so viele gierige Aktionen ändern.
+     * @return this
+     */
+    public AbbruchNachKonvergenz mitPolitikAenderungen(int hoechstens) {
+        this.politikAenderungen = hoechstens;
+        return this;
+    }
+
+    /**
+     * @param fenster Anzahl Fenster in Folge, die die Kriterien erfüllen müssen (Standard 1).
+     * @return this
+     */
+    public AbbruchNachKonvergenz mitGeduld(int fenster) {
+        this.geduld = Math.max(1, fenster);
+        return this;
+    }
+
+    /**
+     * @param runden Vorher wird nicht auf Konvergenz geprüft (z.B. bis Epsilon abgesunken ist).
+     * @return this
+     */
+    public AbbruchNachKonvergenz mitMindestRunden(long runden) {
+        this.mindestRunden = runden;
+        return this;
+    }
+
+    /**
+     * @param runden Spätestens nach so vielen Runden wird abgebrochen.
+     * @return this
+     */
+    public AbbruchNachKonvergenz mitMaxRunden(long runden) {
+        this.maxRunden = runden;
+        return this;
+    }
+
+    /**
+     * @param limit Spätestens nach dieser Zeit ab Erzeugung der Bedingung wird abgebrochen.
+     * @return this
+     */
+    public AbbruchNachKonvergenz mitZeitlimit(Duration limit) {
+        this.ende = start + limit.toNanos();
+        return this;
+    }
+
+    /**
+     * Meldet die trainierte Q-Tabelle an; wird von den lernenden Spielern zu Beginn jedes
+     * Trainings aufgerufen. Das erste Fenster vergleicht mit dem Stand zu diesem Zeitpunkt.
+     *
+     * @param qTabelle Die trainierte Q-Tabelle.
+     */
+    void beobachte(QTabelle qTabelle) {
+        this.qTabelle = qTabelle;
+        int anzahlZeilen = qTabelle.raum().anzahlZeilen();
+        this.vorher = qTabelle.werte().clone();
+        this.zeilen = new int[anzahlZeilen];
+        for (int zeile = 0; zeile < anzahlZeilen; zeile++) {
+            zeilen[zeile] = zeile;
+        }
+        this.aktionenVorher = new int[anzahlZeilen];
+        this.aktionen = new int[anzahlZeilen];
+        StapelAuswertung.besteAktionen(qTabelle, zeilen, anzahlZeilen, aktionenVorher);
+        this.konvergierteFenster = 0;
+    }
+
+    @Override
+    public boolean abbruch() {
+        if (grund != null) {
+            return true;
+        }
+        if (runden >= maxRunden) {
+            return beende(Grund.MAX_RUNDEN);
+        }
+        boolean fensterEnde = runden > 0 && runden % fensterRunden == 0;
+        if ((fensterEnde || runden % ZEIT_PRUEFINTERVALL == 0) && System.nanoTime() - ende >= 0) {
+            return beende(Grund.ZEITLIMIT);
+        }
+        if (fensterEnde && qTabelle != null && vergleicheFenster()) {
+            return beende(Grund.KONVERGIERT);
+        }
+        runden++;
+        return false;
+    }
+
+    private boolean beende(Grund grund) {
+        this.grund = grund;
+        return true;
+    }
+
+    // Vergleicht die Tabelle mit dem Stand am Ende des vorherigen Fensters und merkt sich den neuen
+    private boolean vergleicheFenster() {
+        double[] werte = qTabelle.werte(); // Momentaufnahme, andere Threads schreiben evtl. weiter
+        double maxAenderung = 0.0;
+        double summe = 0.0;
+        for (int i = 0; i < werte.length; i++) {
+            double wert = werte[i];
+            double aenderung = Math.abs(wert - vorher[i]);
+            maxAenderung = Math.max(maxAenderung, aenderung);
+            summe += aenderung;
+            vorher[i] = wert;
+        }
+        StapelAuswertung.besteAktionen(qTabelle, zeilen, zeilen.length, aktionen);
+        int geaendert = 0;
+        for (int i = 0; i < aktionen.length; i++) {
+            if (aktionen[i] != aktionenVorher[i]) {
+                geaendert++;
+            }
+        }
+        int[] tausch = aktionenVorher;
+        aktionenVorher = aktionen;
+        aktionen = tausch;
+
+        letzteMaxAenderung = maxAenderung;
+        letzteMittlereAenderung = werte.length == 0 ? 0.0 : summe / werte.length;
+        letztePolitikAenderungen = geaendert;
+        System.out.printf("Konvergenz nach Runde %d: max |ΔQ| %.6f | mittlere |ΔQ| %.8f | %d Politikänderungen%n",
+                runden, letzteMaxAenderung, letzteMittlereAenderung, letztePolitikAenderungen);
+
+        boolean erfuellt = kriteriumGesetzt()
+                && (Double.isNaN(maxQAenderung) || letzteMaxAenderung <= maxQAenderung)
+                && (Double.isNaN(mittlereQAenderung) || letzteMittlereAenderung <= mittlereQAenderung)
+                && (politikAenderungen < 0 || letztePolitikAenderungen <= politikAenderungen);
+        konvergierteFenster = erfuellt && runden >= mindestRunden ? konvergierteFenster + 1 : 0;
+        return konvergierteFenster >= geduld;
+    }
+
+    private boolean kriteriumGesetzt() {
+        return !Double.isNaN(maxQAenderung) || !Double.isNaN(mittlereQAenderung) || politikAenderungen >= 0;
+    }
+
+    // --- Ergebnis ---
+
+    /**
+     * @return Bisher freigegebene Runden.
+     */
+    public long getRunden() {
+        return runden;
+    }
+
+    /**
+     * @return Grund des Abbruchs, null solange das Training läuft.
+     */
+    public Grund getGrund() {
+        return grund;
+    }
+
+    /**
+     * @return Größte Änderung |ΔQ| im letzten Fenster, NaN vor dem ersten Fenster.
+     */
+    public double getLetzteMaxAenderung() {
+        return letzteMaxAenderung;
+    }
+
+    /**
+     * @return Mittlere Änderung |ΔQ| im letzten Fenster, NaN vor dem ersten Fenster.
+     */
+    public double getLetzteMittlereAenderung() {
+        return letzteMittlereAenderung;
+    }
+
+    /**
+     * @return Geänderte gierige Aktionen im letzten Fenster, -1 vor dem ersten Fenster.
+     */
+    public int getLetztePolitikAenderungen() {
+        return letztePolitikAenderungen;
+    }
+}
@@ -0,0 +1,20 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+/**
+ * Rewards aus Sicht des Agenten und Diskontfaktor, mit denen ein lernender Spieler seine
+ * Q-Tabelle berechnet. Gleiche Belohnungen machen die Tabellen verschiedener Lernverfahren nicht
+ * vergleichbar, die Update-Regeln unterscheiden sich (siehe {@link WertIterationsSpieler}).
+ *
+ * @param sieg          Reward, wenn der Agent gewinnt.
+ * @param niederlage    Reward, wenn der Gegner gewinnt.
+ * @param unentschieden Reward bei vollem Spielfeld ohne Sieger.
+ * @param gamma         Diskontfaktor.
+ */
+public record Belohnungen(double sieg, double niederlage, double unentschieden, double gamma) {
+
+    /** Wie {@link QLearningSpielerHeuristik}: Niederlagen stark bestraft, Remis zählt wie ein Sieg. */
+    public static final Belohnungen HEURISTIK = new Belohnungen(1.0, -5.0, 1.0, 0.99);
+
+    /** Wie {@link QLearningSpielerRandom}: symmetrisch, Remis neutral. */
+    public static final Belohnungen ZUFALL = new Belohnungen(1.0, -1.0, 0.0, 0.95);
+}
@@ -0,0 +1,257 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import tictactoe.Farbe;
+import tictactoe.Spielfeld;
+import tictactoe.Zug;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Primitives Spielfeld aus zwei 9-Bit-Masken (Bit i = Feld zeile * 3 + spalte).
+ * <p>
+ * Wird im Trainings-Hotloop anstelle von {@link Spielfeld} verwendet: Züge werden ohne
+ * Allokation gesetzt und zurückgenommen, Gewinn- und Endprüfungen laufen über eine
+ * vorberechnete Tabelle. Umgewandelt wird nur an der ISpieler-Schnittstelle.
+ */
+public final class BitSpielfeld {
+    public static final int ANZAHL_FELDER = 9;
+    public static final int ALLE_FELDER = 0x1FF; // alle 9 Bits gesetzt
+
+    /** Die 8 Gewinnlinien (3 Zeilen, 3 Spalten, 2 Diagonalen) als Bitmasken. */
+    public static final int[] GEWINN_MASKEN = {
+            0b000_000_111, 0b000_111_000, 0b111_000_000, // Zeilen
+            0b001_001_001, 0b010_010_010, 0b100_100_100, // Spalten
+            0b100_010_001, 0b001_010_100                 // Diagonalen
+    };
+
+    /**
+     * Gewicht jedes Feldes im ternären Zustandsindex: Feld 0 (oben links) = 3^8,
+     * Feld 8 (unten rechts) = 3^0.
+     */
+    public static final int[] DREIER_POTENZEN = {6561, 2187, 729, 243, 81, 27, 9, 3, 1};
+
+    // GEWINN[maske] == true, wenn die Maske eine komplette Gewinnlinie enthält
+    private static final boolean[] GEWINN = new boolean[ALLE_FELDER + 1];
+
+    // GEWINN_FELDER[maske] = Felder, mit denen die Maske eine Gewinnlinie vervollständigt
+    private static final short[] GEWINN_FELDER = new short[ALLE_FELDER + 1];
+
+    // Unveränderliche Zug-Objekte je Feld, damit pro Zug nichts allokiert wird
+    private static final Zug[] ZUEGE = new Zug[ANZAHL_FELDER];
+
+    static {
+        for (int maske = 0; maske <= ALLE_FELDER; maske++) {
+            int felder = 0;
+            for (int linie : GEWINN_MASKEN) {
+                int rest = linie & ~maske;
+                if (rest == 0) {
+                    GEWINN[maske] = true;
+                } else if (Integer.bitCount(rest) == 1) {
+                    felder |= rest;
+                }
+            }
+            GEWINN_FELDER[maske] = (short) felder;
+        }
+        for (int feld = 0; feld < ANZAHL_FELDER; feld++) {
+            ZUEGE[feld] = new Zug(feld / 3, feld % 3);
+        }
+    }
+
+    private int kreuz; // Bitmaske der Kreuz-Felder
+    private int kreis; // Bitmaske der Kreis-Felder
+    private int zustandsIndex; // ternärer Index, wird bei jedem Zug mitgeführt
+
+    public BitSpielfeld() {
+    }
+
+    // --- 1. Züge setzen / zurücknehmen ---
+
+    /**
+     * Setzt die Farbe auf das (leere) Feld und aktualisiert den Zustandsindex.
+     *
+     * @param feld  Index des Feldes (0-8).
+     * @param farbe Kreuz oder Kreis.
+     */
+    public void setze(int feld, Farbe farbe) {
+        if (farbe == Farbe.Kreuz) {
+            kreuz |= 1 << feld;
+            zustandsIndex += 2 * DREIER_POTENZEN[feld];
+        } else {
+            kreis |= 1 << feld;
+            zustandsIndex += DREIER_POTENZEN[feld];
+        }
+    }
+
+    /**
+     * Nimmt einen Zug zurück, das Feld ist danach wieder leer.
+     *
+     * @param feld Index des Feldes (0-8).
+     */
+    public void entferne(int feld) {
+        zustandsIndex -= farbWert(feld) * DREIER_POTENZEN[feld];
+        int loeschen = ~(1 << feld);
+        kreuz &= loeschen;
+        kreis &= loeschen;
+    }
+
+    /**
+     * Setzt das Spielfeld auf den leeren Anfangszustand zurück.
+     */
+    public void leeren() {
+        kreuz = 0;
+        kreis = 0;
+        zustandsIndex = 0;
+    }
+
+    /**
+     * Stellt das Spielfeld aus einem ternären Zustandsindex wieder her.
+     *
+     * @param zustand Ternärer Zustandsindex (0 bis 19682).
+     */
+    public void ladeZustand(int zustand) {
+        kreuz = 0;
+        kreis = 0;
+        zustandsIndex = zustand;
+        for (int feld = ANZAHL_FELDER - 1; feld >= 0; feld--) {
+            int farbWert = zustand % 3;
+            if (farbWert == 2) {
+                kreuz |= 1 << feld;
+            } else if (farbWert == 1) {
+                kreis |= 1 << feld;
+            }
+            zustand /= 3;
+        }
+    }
+
+    // --- 2. Abfragen ---
+
+    public boolean istLeer(int feld) {
+        return ((kreuz | kreis) & (1 << feld)) == 0;
+    }
+
+    /**
+     * @return Bitmaske aller leeren Felder (= legale Aktionen).
+     */
+    public int leereFelder() {
+        return ~(kreuz | kreis) & ALLE_FELDER;
+    }
+
+    public int maske(Farbe farbe) {
+        return farbe == Farbe.Kreuz ? kreuz : kreis;
+    }
+
+    public Farbe getFarbe(int feld) {
+        int bit = 1 << feld;
+        if ((kreuz & bit) != 0) return Farbe.Kreuz;
+        if ((kreis & bit) != 0) return Farbe.Kreis;
+        return Farbe.Leer;
+    }
+
+    public boolean hatGewonnen(Farbe farbe) {
+        return GEWINN[maske(farbe)];
+    }
+
+    public boolean istVoll() {
+        return (kreuz | kreis) == ALLE_FELDER;
+    }
+
+    /**
+     * @return Die Farbe am Zug (Kreuz beginnt: bei gleich vielen Steinen ist Kreuz am Zug).
+     */
+    public Farbe amZug() {
+        return Integer.bitCount(kreuz) == Integer.bitCount(kreis) ? Farbe.Kreuz : Farbe.Kreis;
+    }
+
+    /**
+     * @return true, wenn eine Seite gewonnen hat oder das Spielfeld voll ist.
+     */
+    public boolean istBeendet() {
+        return GEWINN[kreuz] || GEWINN[kreis] || (kreuz | kreis) == ALLE_FELDER;
+    }
+
+    public static boolean istGewinn(int maske) {
+        return GEWINN[maske];
+    }
+
+    /**
+     * @param maske Bitmaske der Felder einer Farbe.
+     * @return Alle Felder, mit denen diese Farbe eine Gewinnlinie vervollständigen würde
+     * (ohne Rücksicht darauf, ob das Feld frei ist).
+     */
+    public static int gewinnFelder(int maske) {
+        return GEWINN_FELDER[maske];
+    }
+
+    /**
+     * @param maske Bitmaske.
+     * @param n     0-basierter Rang.
+     * @return Das Feld des n-ten gesetzten Bits (aufsteigend gezählt).
+     */
+    public static int ntesFeld(int maske, int n) {
+        for (int i = 0; i < n; i++) {
+            maske &= maske - 1;
+        }
+        return Integer.numberOfTrailingZeros(maske);
+    }
+
+    /**
+     * Zieht gleichverteilt ein Feld aus der Maske, ohne Verwerfungsschleife.
+     *
+     * @param maske  Nicht-leere Bitmaske, z.B. {@link #leereFelder()}.
+     * @param random Zufallsgenerator.
+     * @return Ein zufälliges Feld der Maske.
+     */
+    public static int zufaelligesFeld(int maske, RandomGenerator random) {
+        return ntesFeld(maske, random.nextInt(Integer.bitCount(maske)));
+    }
+
+    /**
+     * Liefert den ternären Zustandsindex (0 bis 19682) in derselben Kodierung wie
+     * {@link QLearningSpieler#berechneZustandsIndex(Spielfeld)}. Der Index wird
+     * inkrementell in {@link #setze} und {@link #entferne} gepflegt, der Aufruf ist O(1).
+     *
+     * @return Der ternäre Index des Zustands.
+     */
+    public int zustandsIndex() {
+        return zustandsIndex;
+    }
+
+    // Leer=0, Kreis=1, Kreuz=2 (wie Farbe.toInt())
+    private int farbWert(int feld) {
+        int bit = 1 << feld;
+        return (kreuz & bit) != 0 ? 2 : (kreis & bit) != 0 ? 1 : 0;
+    }
+
+    // --- 3. Umwandlung an der ISpieler-Schnittstelle ---
+
+    /**
+     * @param feld Index des Feldes (0-8).
+     * @return Das gecachte, unveränderliche Zug-Objekt für das Feld.
+     */
+    public static Zug zug(int feld) {
+        return ZUEGE[feld];
+    }
+
+    public static int feld(Zug zug) {
+        return zug.getZeile() * 3 + zug.getSpalte();
+    }
+
+    public static BitSpielfeld von(Spielfeld spielfeld) {
+        BitSpielfeld bitSpielfeld = new BitSpielfeld();
+        for (int feld = 0; feld < ANZAHL_FELDER; feld++) {
+            Farbe farbe = spielfeld.getFarbe(feld / 3, feld % 3);
+            if (farbe != Farbe.Leer) {
+                bitSpielfeld.setze(feld, farbe);
+            }
+        }
+        return bitSpielfeld;
+    }
+
+    public Spielfeld zuSpielfeld() {
+        Spielfeld spielfeld = new Spielfeld();
+        for (int feld = 0; feld < ANZAHL_FELDER; feld++) {
+            spielfeld.setFarbe(feld / 3, feld % 3, getFarbe(feld));
+        }
+        return spielfeld;
+    }
+}
@@ -0,0 +1,35 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight-Recorder-Event je geschriebenem Checkpoint ({@link CheckpointSchreiber}), die Dauer ist
+ * die Schreibzeit im Hintergrund-Thread.
+ */
+@Name("de.whs.wi.tictactoe.Checkpoint")
+@Label("Checkpoint")
+@Category({"TicTacToe", "Training"})
+@StackTrace(false)
+@Description("Schreiben eines Checkpoints (Vollbild oder Delta)")
+final class CheckpointEvent extends Event {
+    @Label("Runden")
+    long runden;
+
+    @Label("Delta")
+    boolean delta;
+
+    @Label("Zustände")
+    @Description("Geschriebene Zeilen der Q-Tabelle")
+    int zustaende;
+
+    @Label("Dateigröße")
+    @Description("Größe der Checkpoint-Datei bzw. des Delta-Protokolls danach")
+    @DataAmount
+    long bytes;
+}
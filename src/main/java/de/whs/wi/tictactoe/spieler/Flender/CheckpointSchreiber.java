@@ -0,0 +1,211 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schreibt während des Trainings regelmäßig Checkpoints (Q-Tabelle, Epsilon, Rundenzähler)
+ * im Format von {@link WissensDatei}.
+ * <p>
+ * Fällig wird ein Checkpoint nach einer festen Anzahl Runden oder nach einer festen Zeit.
+ * Der Trainings-Thread kopiert nur die Q-Tabelle, geschrieben wird die Kopie von einem
+ * Hintergrund-Thread. Läuft der vorherige Checkpoint noch, wird der neue übersprungen.
+ * Fortgesetzt wird mit {@code ladeCheckpoint} des lernenden Spielers.
+ * <p>
+ * Mit {@link #mitDeltas(int)} schreibt nur jeder n-te Checkpoint die ganze Tabelle (Vollbild),
+ * dazwischen werden nur die seit dem letzten Checkpoint geänderten Zeilen an ein
+ * {@link DeltaProtokoll} angehängt. Wird das Protokoll größer als das halbe Vollbild, wird
+ * vorzeitig ein neues Vollbild geschrieben (Kompaktierung).
+ * <p>
+ * Jeder geschriebene Checkpoint erzeugt ein {@link CheckpointEvent} für den Flight Recorder.
+ */
+public final class CheckpointSchreiber implements AutoCloseable {
+    private final String dateiPfad;
+    private final long rundenIntervall; // 0 = nicht nach Runden
+    private final long zeitIntervallNanos; // 0 = nicht nach Zeit
+
+    private final ExecutorService schreiber = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "Checkpoint-Schreiber");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Future<?> laufend;
+    private long naechsteRunde;
+    private long naechsteZeit;
+
+    private int maxDeltas; // Delta-Checkpoints zwischen zwei Vollbildern, 0 = immer Vollbild
+    private int deltasSeitVollbild;
+    private volatile boolean vollbildGeschrieben; // false nach Schreibfehlern: nächster Checkpoint ist ein Vollbild
+    private volatile long deltaGroesse; // aktuelle Größe des Delta-Protokolls in Bytes
+
+    private CheckpointSchreiber(String dateiPfad, long rundenIntervall, Duration zeitIntervall) {
+        this.dateiPfad = dateiPfad;
+        this.rundenIntervall = rundenIntervall;
+        this.zeitIntervallNanos = zeitIntervall.toNanos();
+        this.naechsteRunde = rundenIntervall;
+        this.naechsteZeit = System.nanoTime() + zeitIntervallNanos;
+    }
+
+    /**
+     * @param dateiPfad Checkpoint-Datei, wird bei jedem Checkpoint ersetzt.
+     * @param runden    Abstand zweier Checkpoints in Trainingsrunden.
+     */
+    public static CheckpointSchreiber nachRunden(String dateiPfad, long runden) {
+        return new CheckpointSchreiber(dateiPfad, runden, Duration.ZERO);
+    }
+
+    /**
+     * @param dateiPfad Checkpoint-Datei, wird bei jedem Checkpoint ersetzt.
+     * @param intervall Abstand zweier Checkpoints in Wanduhrzeit.
+     */
+    public static CheckpointSchreiber nachZeit(String dateiPfad, Duration intervall) {
+        return new CheckpointSchreiber(dateiPfad, 0, intervall);
+    }
+
+    /**
+     * Schaltet Delta-Checkpoints ein.
+     *
+     * @param maxDeltas Anzahl Delta-Checkpoints zwischen zwei Vollbildern.
+     * @return this
+     */
+    public CheckpointSchreiber mitDeltas(int maxDeltas) {
+        this.maxDeltas = maxDeltas;
+        return this;
+    }
+
+    /**
+     * Wird zu Beginn jedes Trainings aufgerufen: bei Delta-Checkpoints wird die Änderungsverfolgung
+     * der Q-Tabelle eingeschaltet, der erste Checkpoint ist dann immer ein Vollbild.
+     *
+     * @param qTabelle Die zu trainierende Q-Tabelle.
+     */
+    synchronized void beginne(QTabelle qTabelle) {
+        if (maxDeltas > 0 && !qTabelle.verfolgtAenderungen()) {
+            qTabelle.verfolgeAenderungen();
+            vollbildGeschrieben = false;
+        }
+    }
+
+    public String getDateiPfad() {
+        return dateiPfad;
+    }
+
+    /**
+     * Prüft, ob ein Checkpoint fällig ist, und plant in dem Fall den nächsten ein.
+     * Kann von mehreren Trainings-Threads aufgerufen werden; nur einer bekommt true.
+     *
+     * @param runde Bisher trainierte Runden.
+     * @return true, wenn der Aufrufer jetzt {@link #schreibe} aufrufen soll.
+     */
+    public synchronized boolean faellig(long runde) {
+        if (rundenIntervall > 0 && runde >= naechsteRunde) {
+            naechsteRunde = runde + rundenIntervall;
+            return true;
+        }
+        if (zeitIntervallNanos > 0) {
+            long jetzt = System.nanoTime();
+            if (jetzt - naechsteZeit >= 0) {
+                naechsteZeit = jetzt + zeitIntervallNanos;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Kopiert die Q-Tabelle (bzw. bei Delta-Checkpoints nur die geänderten Zeilen) und
+     * schreibt die Kopie im Hintergrund.
+     *
+     * @param qTabelle Die Q-Tabelle des Trainings.
+     * @param epsilon  Epsilon zur Runde.
+     * @param runden   Bisher trainierte Runden.
+     */
+    public synchronized void schreibe(QTabelle qTabelle, double epsilon, long runden) {
+        if (laufend != null && !laufend.isDone()) {
+            return; // vorheriger Checkpoint wird noch geschrieben
+        }
+        boolean delta = maxDeltas > 0 && qTabelle.verfolgtAenderungen() && vollbildGeschrieben
+                && deltasSeitVollbild < maxDeltas
+                && deltaGroesse < (long) qTabelle.werte().length * Double.BYTES / 2;
+        if (delta) {
+            schreibeDelta(qTabelle, epsilon, runden);
+        } else {
+            schreibeVollbild(qTabelle, epsilon, runden);
+        }
+    }
+
+    private void schreibeVollbild(QTabelle qTabelle, double epsilon, long runden) {
+        if (qTabelle.verfolgtAenderungen()) {
+            qTabelle.verwerfeAenderungen(); // vor dem Kopieren, spätere Updates markieren neu
+        }
+        QTabelle schnappschuss = qTabelle.kopie();
+        deltasSeitVollbild = 0;
+        laufend = schreiber.submit(() -> {
+            CheckpointEvent event = new CheckpointEvent();
+            event.begin();
+            try {
+                WissensDatei.schreibe(dateiPfad, schnappschuss, epsilon, runden);
+                if (maxDeltas > 0) {
+                    DeltaProtokoll.beginne(WissensDatei.deltaPfad(dateiPfad), schnappschuss.raum(), runden);
+                    deltaGroesse = 0;
+                }
+                vollbildGeschrieben = true;
+                if (event.shouldCommit()) {
+                    event.runden = runden;
+                    event.zustaende = schnappschuss.raum().anzahlZeilen();
+                    event.bytes = Files.size(Path.of(dateiPfad));
+                    event.commit();
+                }
+                System.out.println("Checkpoint nach Runde " + runden + " gespeichert unter: " + dateiPfad);
+            } catch (IOException e) {
+                vollbildGeschrieben = false;
+                System.err.println("Fehler beim Schreiben des Checkpoints: " + e.getMessage());
+            }
+        });
+    }
+
+    private void schreibeDelta(QTabelle qTabelle, double epsilon, long runden) {
+        QTabelle.GeaenderteZeilen zeilen = qTabelle.entnehmeAenderungen();
+        ZustandsRaum raum = qTabelle.raum();
+        deltasSeitVollbild++;
+        laufend = schreiber.submit(() -> {
+            CheckpointEvent event = new CheckpointEvent();
+            event.begin();
+            try {
+                deltaGroesse = DeltaProtokoll.haengeAn(WissensDatei.deltaPfad(dateiPfad), raum, zeilen,
+                        epsilon, runden);
+                if (event.shouldCommit()) {
+                    event.runden = runden;
+                    event.delta = true;
+                    event.zustaende = zeilen.zeilen().length;
+                    event.bytes = deltaGroesse;
+                    event.commit();
+                }
+                System.out.println("Delta-Checkpoint nach Runde " + runden + " (" + zeilen.zeilen().length
+                        + " Zustände) gespeichert unter: " + dateiPfad);
+            } catch (IOException e) {
+                vollbildGeschrieben = false; // Änderungen verloren, nächster Checkpoint wieder vollständig
+                System.err.println("Fehler beim Schreiben des Checkpoints: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Wartet auf einen noch laufenden Checkpoint und beendet den Hintergrund-Thread.
+     */
+    @Override
+    public void close() {
+        schreiber.shutdown();
+        try {
+            schreiber.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Delta-Protokoll neben einer Wissensdatei: jeder Delta-Checkpoint hängt nur die seit dem
+ * vorherigen Checkpoint geänderten Zeilen der Q-Tabelle an.
+ * <p>
+ * Aufbau (little-endian):
+ * <pre>
+ * Kopf:    int Magic "QDLT", int Version, int Layout, int reserviert,
+ *          long Runden des Vollbilds, auf das sich das Protokoll bezieht, long reserviert
+ * Eintrag: int Anzahl Zeilen, long Runden, double Epsilon,
+ *          je Zeile: int Zeile, double[legale Aktionen der Zeile],
+ *          int CRC32 über den Eintrag
+ * </pre>
+ * Ein beim Absturz halb geschriebener Eintrag fällt durch die Prüfsumme auf; gelesen wird
+ * bis zum letzten vollständigen Eintrag. Ein Protokoll, das nicht zum Vollbild passt (anderer
+ * Rundenzähler), wird ignoriert.
+ */
+final class DeltaProtokoll {
+    private static final int MAGIC = 0x544C4451; // "QDLT" little-endian
+    private static final int VERSION = 1;
+    private static final int KOPF_GROESSE = 32;
+    private static final int EINTRAG_KOPF = Integer.BYTES + Long.BYTES + Double.BYTES;
+
+    private DeltaProtokoll() {
+    }
+
+    /**
+     * Legt ein leeres Protokoll für ein gerade geschriebenes Vollbild an (ersetzt ein altes).
+     *
+     * @param dateiPfad   Pfad des Protokolls.
+     * @param raum        Layout der Q-Tabelle.
+     * @param basisRunden Rundenzähler des Vollbilds.
+     * @throws IOException bei Schreibfehlern.
+     */
+    static void beginne(String dateiPfad, ZustandsRaum raum, long basisRunden) throws IOException {
+        ByteBuffer kopf = ByteBuffer.allocate(KOPF_GROESSE).order(ByteOrder.LITTLE_ENDIAN);
+        kopf.putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(WissensDatei.layout(raum))
+                .putInt(0)
+                .putLong(basisRunden)
+                .putLong(0)
+                .flip();
+        WissensDatei.schreibeAtomar(dateiPfad, kopf, ByteBuffer.allocate(0));
+    }
+
+    /**
+     * Hängt einen Eintrag an das Protokoll an.
+     *
+     * @param dateiPfad Pfad des Protokolls (mit {@link #beginne} angelegt).
+     * @param raum      Layout der Q-Tabelle.
+     * @param zeilen    Die geänderten Zeilen.
+     * @param epsilon   Epsilon zur Runde.
+     * @param runden    Bisher trainierte Runden.
+     * @return Größe des Protokolls in Bytes nach dem Anhängen.
+     * @throws IOException bei Schreibfehlern.
+     */
+    static long haengeAn(String dateiPfad, ZustandsRaum raum, QTabelle.GeaenderteZeilen zeilen,
+                         double epsilon, long runden) throws IOException {
+        int[] nummern = zeilen.zeilen();
+        double[] werte = zeilen.werte();
+        ByteBuffer eintrag = ByteBuffer.allocate(EINTRAG_KOPF + nummern.length * Integer.BYTES
+                + werte.length * Double.BYTES + Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        eintrag.putInt(nummern.length).putLong(runden).putDouble(epsilon);
+        int position = 0;
+        for (int zeile : nummern) {
+            eintrag.putInt(zeile);
+            for (int i = raum.start(zeile); i < raum.start(zeile + 1); i++) {
+                eintrag.putDouble(werte[position++]);
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(eintrag.array(), 0, eintrag.position());
+        eintrag.putInt((int) crc.getValue()).flip();
+
+        try (FileChannel kanal = FileChannel.open(Path.of(dateiPfad), StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            while (eintrag.hasRemaining()) {
+                kanal.write(eintrag);
+            }
+            kanal.force(false);
+            return kanal.size();
+        }
+    }
+
+    /**
+     * Wendet alle vollständigen Einträge des Protokolls auf das geladene Vollbild an.
+     *
+     * @param dateiPfad Pfad des Protokolls.
+     * @param basis     Das geladene Vollbild, seine Q-Tabelle wird überschrieben.
+     * @return Das Vollbild mit Epsilon und Rundenzähler des letzten Eintrags, unverändert,
+     * wenn kein passendes Protokoll existiert.
+     * @throws IOException bei Lesefehlern.
+     */
+    static WissensDatei.Inhalt wendeAn(String dateiPfad, WissensDatei.Inhalt basis) throws IOException {
+        Path pfad = Path.of(dateiPfad);
+        if (!Files.exists(pfad)) {
+            return basis;
+        }
+        try (FileChannel kanal = FileChannel.open(pfad, StandardOpenOption.READ)) {
+            if (kanal.size() < KOPF_GROESSE || WissensDatei.leseMagic(kanal) != MAGIC) {
+                return basis;
+            }
+            MappedByteBuffer datei = kanal.map(FileChannel.MapMode.READ_ONLY, 0, kanal.size());
+            datei.order(ByteOrder.LITTLE_ENDIAN);
+
+            datei.getInt(); // Magic
+            int version = datei.getInt();
+            int layout = datei.getInt();
+            datei.getInt(); // reserviert
+            long basisRunden = datei.getLong();
+            QTabelle qTabelle = basis.qTabelle();
+            ZustandsRaum raum = qTabelle.raum();
+            if (version != VERSION || layout != WissensDatei.layout(raum) || basisRunden != basis.runden()) {
+                return basis; // Protokoll gehört zu einem anderen Vollbild
+            }
+
+            double[] werte = qTabelle.werte();
+            double epsilon = basis.epsilon();
+            long runden = basis.runden();
+            int anzahlEintraege = 0;
+            datei.position(KOPF_GROESSE);
+            while (datei.remaining() >= EINTRAG_KOPF) {
+                int beginn = datei.position();
+                int anzahlZeilen = datei.getInt();
+                long eintragRunden = datei.getLong();
+                double eintragEpsilon = datei.getDouble();
+                if (!istVollstaendig(datei, raum, anzahlZeilen)) {
+                    break;
+                }
+                int ende = datei.position();
+                datei.position(beginn + EINTRAG_KOPF);
+
+                // Erst prüfen, dann anwenden: ein beschädigter Eintrag darf nichts überschreiben
+                CRC32 crc = new CRC32();
+                crc.update(datei.slice(beginn, ende - beginn));
+                if (datei.getInt(ende) != (int) crc.getValue()) {
+                    break;
+                }
+                for (int i = 0; i < anzahlZeilen; i++) {
+                    int zeile = datei.getInt();
+                    for (int j = raum.start(zeile); j < raum.start(zeile + 1); j++) {
+                        werte[j] = datei.getDouble();
+                    }
+                }
+                datei.position(ende + Integer.BYTES);
+                epsilon = eintragEpsilon;
+                runden = eintragRunden;
+                anzahlEintraege++;
+            }
+            if (anzahlEintraege > 0) {
+                System.out.println(anzahlEintraege + " Delta-Checkpoints angewendet, Stand Runde " + runden);
+            }
+            return new WissensDatei.Inhalt(qTabelle, epsilon, runden);
+        }
+    }
+
+    // Läuft über die Zeilen des Eintrags und steht danach auf dessen Prüfsumme
+    private static boolean istVollstaendig(ByteBuffer datei, ZustandsRaum raum, int anzahlZeilen) {
+        if (anzahlZeilen < 0 || anzahlZeilen > raum.anzahlZeilen()) {
+            return false;
+        }
+        for (int i = 0; i < anzahlZeilen; i++) {
+            if (datei.remaining() < Integer.BYTES) {
+                return false;
+            }
+            int zeile = datei.getInt();
+            if (zeile < 0 || zeile >= raum.anzahlZeilen()) {
+                return false;
+            }
+            int bytes = (raum.start(zeile + 1) - raum.start(zeile)) * Double.BYTES;
+            if (datei.remaining() < bytes) {
+                return false;
+            }
+            datei.position(datei.position() + bytes);
+        }
+        return datei.remaining() >= Integer.BYTES;
+    }
+}
@@ -0,0 +1,205 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import tictactoe.Farbe;
+import tictactoe.IllegalerZugException;
+import tictactoe.Zug;
+import tictactoe.spieler.ISpieler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Parallele Evaluierung eines Spielers gegen einen Gegner über sehr viele Spiele.
+ * <p>
+ * Jeder Thread erzeugt über die Fabriken eigene Spielerinstanzen und spielt seinen Anteil der
+ * Spiele auf einem {@link BitSpielfeld}; die Startfarbe wechselt von Spiel zu Spiel (Kreuz
+ * beginnt). Ein illegaler Zug oder eine {@link IllegalerZugException} zählt als Niederlage
+ * des ziehenden Spielers. Ausgewertet wird getrennt nach Startfarbe, mit 95%-Wilson-Intervallen.
+ */
+public final class Evaluierung {
+    private static final double Z_95 = 1.959964; // Quantil der Normalverteilung für 95%
+
+    private static final int KREUZ = 0; // Agent spielt Kreuz (beginnt)
+    private static final int KREIS = 1;
+    private static final int SIEG = 0;
+    private static final int NIEDERLAGE = 1;
+    private static final int UNENTSCHIEDEN = 2;
+
+    private Evaluierung() {
+    }
+
+    /**
+     * Ergebnis einer Evaluierung aus Sicht des Agenten.
+     *
+     * @param zaehler  [Startfarbe][Sieg/Niederlage/Unentschieden]
+     * @param dauerNs  Wanduhrzeit der Evaluierung in Nanosekunden
+     */
+    public record Ergebnis(String agent, String gegner, long[][] zaehler, long dauerNs) {
+
+        public long spiele() {
+            return spiele(KREUZ) + spiele(KREIS);
+        }
+
+        private long spiele(int farbe) {
+            return zaehler[farbe][SIEG] + zaehler[farbe][NIEDERLAGE] + zaehler[farbe][UNENTSCHIEDEN];
+        }
+
+        public long siege() {
+            return zaehler[KREUZ][SIEG] + zaehler[KREIS][SIEG];
+        }
+
+        public long niederlagen() {
+            return zaehler[KREUZ][NIEDERLAGE] + zaehler[KREIS][NIEDERLAGE];
+        }
+
+        public long unentschieden() {
+            return zaehler[KREUZ][UNENTSCHIEDEN] + zaehler[KREIS][UNENTSCHIEDEN];
+        }
+
+        public double spieleProSekunde() {
+            return spiele() / (dauerNs / 1e9);
+        }
+
+        /**
+         * Gibt das Ergebnis je Startfarbe und gesamt auf der Konsole aus.
+         */
+        public void ausgeben() {
+            System.out.println(gegner + " vs. " + agent);
+            System.out.println("=========================================================");
+            zeile("Als Kreuz (beginnt)", zaehler[KREUZ][SIEG], zaehler[KREUZ][NIEDERLAGE],
+                    zaehler[KREUZ][UNENTSCHIEDEN]);
+            zeile("Als Kreis", zaehler[KREIS][SIEG], zaehler[KREIS][NIEDERLAGE], zaehler[KREIS][UNENTSCHIEDEN]);
+            zeile("Gesamt", siege(), niederlagen(), unentschieden());
+            System.out.printf("%d Spiele in %.2f s (%.0f Spiele/s)%n", spiele(), dauerNs / 1e9, spieleProSekunde());
+            System.out.println("=========================================================");
+        }
+
+        private static void zeile(String titel, long siege, long niederlagen, long unentschieden) {
+            long n = siege + niederlagen + unentschieden;
+            System.out.printf("%-20s Siege %s | Niederlagen %s | Unentschieden %s%n", titel,
+                    anteil(siege, n), anteil(niederlagen, n), anteil(unentschieden, n));
+        }
+
+        private static String anteil(long k, long n) {
+            double[] intervall = wilson(k, n);
+            return String.format("%d (%.2f%% [%.2f; %.2f])", k, n == 0 ? 0.0 : 100.0 * k / n,
+                    100.0 * intervall[0], 100.0 * intervall[1]);
+        }
+    }
+
+    /**
+     * 95%-Wilson-Konfidenzintervall für einen Anteil k/n.
+     *
+     * @return {untere Grenze, obere Grenze}
+     */
+    public static double[] wilson(long k, long n) {
+        if (n == 0) {
+            return new double[]{0.0, 1.0};
+        }
+        double p = (double) k / n;
+        double z2 = Z_95 * Z_95;
+        double nenner = 1 + z2 / n;
+        double mitte = (p + z2 / (2.0 * n)) / nenner;
+        double radius = Z_95 * Math.sqrt(p * (1 - p) / n + z2 / (4.0 * n * n)) / nenner;
+        return new double[]{Math.max(0.0, mitte - radius), Math.min(1.0, mitte + radius)};
+    }
+
+    /**
+     * Spielt {@code anzahlSpiele} Spiele auf {@code anzahlThreads} Threads.
+     *
+     * @param agentFabrik   Erzeugt je Thread den zu bewertenden Spieler.
+     * @param gegnerFabrik  Erzeugt je Thread den Gegner.
+     * @param anzahlSpiele  Gesamtzahl der Spiele (Hälfte mit Kreuz, Hälfte mit Kreis).
+     * @param anzahlThreads Anzahl der Threads.
+     * @return Das Ergebnis aus Sicht des Agenten.
+     * @throws IllegalStateException wenn ein Spieler eine Ausnahme wirft oder der Aufrufer unterbrochen wird.
+     */
+    public static Ergebnis spiele(Supplier<? extends ISpieler> agentFabrik, Supplier<? extends ISpieler> gegnerFabrik,
+                                  long anzahlSpiele, int anzahlThreads) {
+        long start = System.nanoTime();
+        long[][] gesamt = new long[2][3];
+        String[] namen = new String[2];
+
+        ExecutorService executor = Executors.newFixedThreadPool(anzahlThreads);
+        try {
+            List<Future<long[][]>> ergebnisse = new ArrayList<>();
+            for (int i = 0; i < anzahlThreads; i++) {
+                // Spiele gleichmäßig verteilen; der globale Index bestimmt die Startfarbe
+                long von = anzahlSpiele * i / anzahlThreads;
+                long bis = anzahlSpiele * (i + 1) / anzahlThreads;
+                boolean erster = i == 0;
+                ergebnisse.add(executor.submit(() -> {
+                    ISpieler agent = agentFabrik.get();
+                    ISpieler gegner = gegnerFabrik.get();
+                    if (erster) {
+                        namen[0] = agent.getName();
+                        namen[1] = gegner.getName();
+                    }
+                    long[][] zaehler = new long[2][3];
+                    BitSpielfeld spielfeld = new BitSpielfeld();
+                    for (long spiel = von; spiel < bis; spiel++) {
+                        int farbe = spiel % 2 == 0 ? KREUZ : KREIS;
+                        zaehler[farbe][spieleEinSpiel(agent, gegner, farbe == KREUZ, spielfeld)]++;
+                    }
+                    return zaehler;
+                }));
+            }
+            for (Future<long[][]> ergebnis : ergebnisse) {
+                long[][] zaehler = ergebnis.get();
+                for (int farbe = 0; farbe < 2; farbe++) {
+                    for (int ausgang = 0; ausgang < 3; ausgang++) {
+                        gesamt[farbe][ausgang] += zaehler[farbe][ausgang];
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            // Kein Teilergebnis zurückgeben: es wäre unvollständig und ggf. ohne Namen
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Evaluierung wurde unterbrochen", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Fehler im Evaluierungs-Thread", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Ergebnis(namen[0], namen[1], gesamt, System.nanoTime() - start);
+    }
+
+    // Spielt ein Spiel und liefert SIEG/NIEDERLAGE/UNENTSCHIEDEN aus Sicht des Agenten
+    private static int spieleEinSpiel(ISpieler agent, ISpieler gegner, boolean agentIstKreuz,
+                                      BitSpielfeld spielfeld) {
+        Farbe agentFarbe = agentIstKreuz ? Farbe.Kreuz : Farbe.Kreis;
+        agent.neuesSpiel(agentFarbe, 0);
+        gegner.neuesSpiel(agentFarbe.opposite(), 0);
+        spielfeld.leeren();
+
+        Farbe amZug = Farbe.Kreuz;
+        Zug letzterZug = null;
+        while (true) {
+            boolean agentAmZug = amZug == agentFarbe;
+            ISpieler spieler = agentAmZug ? agent : gegner;
+            int feld;
+            try {
+                letzterZug = spieler.berechneZug(letzterZug, 0, 0);
+                feld = letzterZug == null ? -1 : BitSpielfeld.feld(letzterZug);
+            } catch (IllegalerZugException e) {
+                feld = -1;
+            }
+            if (feld < 0 || feld >= BitSpielfeld.ANZAHL_FELDER || !spielfeld.istLeer(feld)) {
+                return agentAmZug ? NIEDERLAGE : SIEG; // illegaler Zug verliert
+            }
+            spielfeld.setze(feld, amZug);
+            if (spielfeld.hatGewonnen(amZug)) {
+                return agentAmZug ? SIEG : NIEDERLAGE;
+            }
+            if (spielfeld.istVoll()) {
+                return UNENTSCHIEDEN;
+            }
+            amZug = amZug.opposite();
+        }
+    }
+}
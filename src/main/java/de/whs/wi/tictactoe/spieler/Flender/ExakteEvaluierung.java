@@ -0,0 +1,173 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import tictactoe.Farbe;
+
+/**
+ * Exakte Bewertung einer eingefrorenen {@link Politik} gegen ein {@link GegnerModell}.
+ * <p>
+ * Statt Spiele zu würfeln wird der Spielbaum vollständig durchlaufen: in jeder Stellung wird
+ * über die Züge des Gegners mit ihren Wahrscheinlichkeiten gemittelt, der Agent zieht
+ * deterministisch nach der Politik. Jede Stellung wird nur einmal berechnet (Memoisierung über
+ * den ternären Zustandsindex), das Ergebnis sind die genauen Sieg-, Niederlagen- und
+ * Unentschieden-Wahrscheinlichkeiten je Startfarbe – reproduzierbar und in Millisekunden.
+ * Wie bei {@link PolitikSpieler} zieht der Agent in unbekannten Zuständen gleichverteilt.
+ */
+public final class ExakteEvaluierung {
+    private static final int KREUZ = 0; // Agent spielt Kreuz (beginnt)
+    private static final int KREIS = 1;
+    private static final int SIEG = 0;
+    private static final int NIEDERLAGE = 1;
+    private static final int UNENTSCHIEDEN = 2;
+
+    private ExakteEvaluierung() {
+    }
+
+    /**
+     * Ergebnis einer exakten Evaluierung aus Sicht des Agenten.
+     *
+     * @param wahrscheinlichkeiten [Startfarbe][Sieg/Niederlage/Unentschieden]
+     * @param zustaende            Anzahl der berechneten Stellungen (beide Startfarben)
+     * @param dauerNs              Rechenzeit in Nanosekunden
+     */
+    public record Ergebnis(String gegner, double[][] wahrscheinlichkeiten, int zustaende, long dauerNs) {
+
+        // Gesamtwerte bei abwechselnder Startfarbe
+        public double siege() {
+            return (wahrscheinlichkeiten[KREUZ][SIEG] + wahrscheinlichkeiten[KREIS][SIEG]) / 2;
+        }
+
+        public double niederlagen() {
+            return (wahrscheinlichkeiten[KREUZ][NIEDERLAGE] + wahrscheinlichkeiten[KREIS][NIEDERLAGE]) / 2;
+        }
+
+        public double unentschieden() {
+            return (wahrscheinlichkeiten[KREUZ][UNENTSCHIEDEN] + wahrscheinlichkeiten[KREIS][UNENTSCHIEDEN]) / 2;
+        }
+
+        /**
+         * Gibt das Ergebnis je Startfarbe und gesamt auf der Konsole aus.
+         */
+        public void ausgeben() {
+            System.out.println("Exakt: " + gegner + " vs. Politik");
+            System.out.println("=========================================================");
+            zeile("Als Kreuz (beginnt)", wahrscheinlichkeiten[KREUZ]);
+            zeile("Als Kreis", wahrscheinlichkeiten[KREIS]);
+            zeile("Gesamt", new double[]{siege(), niederlagen(), unentschieden()});
+            System.out.printf("%d Stellungen in %.2f ms%n", zustaende, dauerNs / 1e6);
+            System.out.println("=========================================================");
+        }
+
+        private static void zeile(String titel, double[] p) {
+            System.out.printf("%-20s Siege %.4f%% | Niederlagen %.4f%% | Unentschieden %.4f%%%n", titel,
+                    100.0 * p[SIEG], 100.0 * p[NIEDERLAGE], 100.0 * p[UNENTSCHIEDEN]);
+        }
+    }
+
+    /**
+     * @param politik Die zu bewertende Politik.
+     * @param gegner  Das Modell des Gegners.
+     * @return Die exakten Wahrscheinlichkeiten aus Sicht der Politik.
+     */
+    public static Ergebnis bewerte(Politik politik, GegnerModell gegner) {
+        long start = System.nanoTime();
+        double[][] wahrscheinlichkeiten = new double[2][];
+        int zustaende = 0;
+        for (int farbe = KREUZ; farbe <= KREIS; farbe++) {
+            Suche suche = new Suche(politik, gegner, farbe == KREUZ ? Farbe.Kreuz : Farbe.Kreis);
+            BitSpielfeld spielfeld = new BitSpielfeld();
+            suche.bewerte(spielfeld, Farbe.Kreuz);
+            wahrscheinlichkeiten[farbe] = suche.ergebnis(spielfeld.zustandsIndex());
+            zustaende += suche.anzahl;
+        }
+        return new Ergebnis(gegner.toString(), wahrscheinlichkeiten, zustaende, System.nanoTime() - start);
+    }
+
+    /**
+     * @param qTabelle Die gelernte Q-Tabelle, bewertet wird ihre gierige Politik.
+     * @param gegner   Das Modell des Gegners.
+     * @return Die exakten Wahrscheinlichkeiten aus Sicht der Politik.
+     */
+    public static Ergebnis bewerte(QTabelle qTabelle, GegnerModell gegner) {
+        return bewerte(Politik.aus(qTabelle), gegner);
+    }
+
+    // Tiefensuche mit Memo für eine feste Farbe des Agenten
+    private static final class Suche {
+        private final Politik politik;
+        private final GegnerModell gegner;
+        private final Farbe agentFarbe;
+        private final double[] werte = new double[3 * ZustandsRaum.ANZAHL_ZUSTAENDE]; // je Zustand S/N/U
+        private final boolean[] bekannt = new boolean[ZustandsRaum.ANZAHL_ZUSTAENDE];
+        // Zugverteilung je Anzahl belegter Felder, damit die Rekursion nichts allokiert
+        private final double[][] verteilungen = new double[BitSpielfeld.ANZAHL_FELDER][BitSpielfeld.ANZAHL_FELDER];
+        private int anzahl;
+
+        Suche(Politik politik, GegnerModell gegner, Farbe agentFarbe) {
+            this.politik = politik;
+            this.gegner = gegner;
+            this.agentFarbe = agentFarbe;
+        }
+
+        double[] ergebnis(int zustand) {
+            return new double[]{werte[3 * zustand + SIEG], werte[3 * zustand + NIEDERLAGE],
+                    werte[3 * zustand + UNENTSCHIEDEN]};
+        }
+
+        // Berechnet die Werte der (nicht beendeten) Stellung, in der amZug am Zug ist
+        void bewerte(BitSpielfeld spielfeld, Farbe amZug) {
+            int zustand = spielfeld.zustandsIndex();
+            if (bekannt[zustand]) {
+                return;
+            }
+            bekannt[zustand] = true;
+            anzahl++;
+
+            int leer = spielfeld.leereFelder();
+            double[] p = verteilungen[BitSpielfeld.ANZAHL_FELDER - Integer.bitCount(leer)];
+            boolean agentAmZug = amZug == agentFarbe;
+            if (agentAmZug) {
+                int aktion = politik.aktion(zustand);
+                if (aktion == -1) {
+                    GegnerModell.gleichverteilt(leer, p);
+                } else if ((leer & (1 << aktion)) == 0) {
+                    werte[3 * zustand + NIEDERLAGE] = 1.0; // illegaler Zug verliert
+                    return;
+                } else {
+                    GegnerModell.gleichverteilt(1 << aktion, p);
+                }
+            } else {
+                gegner.verteilung(spielfeld.maske(amZug), spielfeld.maske(agentFarbe), p);
+            }
+
+            double sieg = 0.0;
+            double niederlage = 0.0;
+            double unentschieden = 0.0;
+            for (int feld = 0; feld < BitSpielfeld.ANZAHL_FELDER; feld++) {
+                double wahrscheinlichkeit = p[feld];
+                if (wahrscheinlichkeit == 0.0) {
+                    continue;
+                }
+                spielfeld.setze(feld, amZug);
+                if (spielfeld.hatGewonnen(amZug)) {
+                    if (agentAmZug) {
+                        sieg += wahrscheinlichkeit;
+                    } else {
+                        niederlage += wahrscheinlichkeit;
+                    }
+                } else if (spielfeld.istVoll()) {
+                    unentschieden += wahrscheinlichkeit;
+                } else {
+                    bewerte(spielfeld, amZug.opposite());
+                    int folge = 3 * spielfeld.zustandsIndex();
+                    sieg += wahrscheinlichkeit * werte[folge + SIEG];
+                    niederlage += wahrscheinlichkeit * werte[folge + NIEDERLAGE];
+                    unentschieden += wahrscheinlichkeit * werte[folge + UNENTSCHIEDEN];
+                }
+                spielfeld.entferne(feld);
+            }
+            werte[3 * zustand + SIEG] = sieg;
+            werte[3 * zustand + NIEDERLAGE] = niederlage;
+            werte[3 * zustand + UNENTSCHIEDEN] = unentschieden;
+        }
+    }
+}
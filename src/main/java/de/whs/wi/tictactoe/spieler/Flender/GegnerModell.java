@@ -0,0 +1,68 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+/**
+ * Stochastisches Modell eines Gegners: die Wahrscheinlichkeit jedes Zuges in einer Stellung.
+ * Grundlage der {@link ExakteEvaluierung}, die statt zu würfeln über alle Züge mittelt.
+ */
+public interface GegnerModell {
+
+    /** Wie {@link ZufallsGegner} bzw. {@code Zufallsspieler}: gleichverteilt auf ein leeres Feld. */
+    GegnerModell ZUFALL = new GegnerModell() {
+        @Override
+        public void verteilung(int eigene, int gegner, double[] wahrscheinlichkeiten) {
+            gleichverteilt(~(eigene | gegner) & BitSpielfeld.ALLE_FELDER, wahrscheinlichkeiten);
+        }
+
+        @Override
+        public String toString() {
+            return "Zufall";
+        }
+    };
+
+    /**
+     * Wie {@link HeuristikSpieler#berechneFeld}: sicher der erste Gewinnzug, sonst sicher der erste
+     * Blockzug, sonst gleichverteilt auf ein leeres Feld.
+     */
+    GegnerModell HEURISTIK = new GegnerModell() {
+        @Override
+        public void verteilung(int eigene, int gegner, double[] wahrscheinlichkeiten) {
+            int leer = ~(eigene | gegner) & BitSpielfeld.ALLE_FELDER;
+            int gewinn = BitSpielfeld.gewinnFelder(eigene) & leer;
+            int block = BitSpielfeld.gewinnFelder(gegner) & leer;
+            if (gewinn != 0) {
+                gleichverteilt(Integer.lowestOneBit(gewinn), wahrscheinlichkeiten);
+            } else if (block != 0) {
+                gleichverteilt(Integer.lowestOneBit(block), wahrscheinlichkeiten);
+            } else {
+                gleichverteilt(leer, wahrscheinlichkeiten);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Heuristik";
+        }
+    };
+
+    /**
+     * Trägt für jedes Feld die Wahrscheinlichkeit ein, mit der das Modell dorthin zieht.
+     *
+     * @param eigene               Bitmaske der Felder des modellierten Gegners.
+     * @param gegner               Bitmaske der Felder seines Gegenübers (des Agenten).
+     * @param wahrscheinlichkeiten Ausgabe, Länge 9; besetzte Felder müssen 0 bekommen.
+     */
+    void verteilung(int eigene, int gegner, double[] wahrscheinlichkeiten);
+
+    /**
+     * Gleichverteilung über die Felder der Maske.
+     *
+     * @param felder               Nicht-leere Bitmaske.
+     * @param wahrscheinlichkeiten Ausgabe, Länge 9.
+     */
+    static void gleichverteilt(int felder, double[] wahrscheinlichkeiten) {
+        double p = 1.0 / Integer.bitCount(felder);
+        for (int feld = 0; feld < BitSpielfeld.ANZAHL_FELDER; feld++) {
+            wahrscheinlichkeiten[feld] = (felder & (1 << feld)) != 0 ? p : 0.0;
+        }
+    }
+}
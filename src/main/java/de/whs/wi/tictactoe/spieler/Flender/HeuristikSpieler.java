@@ -3,77 +3,77 @@ package de.whs.wi.tictactoe.spieler.Flender;
 import tictactoe.*;
 import tictactoe.spieler.ISpieler;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public class HeuristikSpieler implements ISpieler {
 
     private String name;
     private Farbe farbe;
-    private Spielfeld spielfeld;
-    private Random random = new Random();
+    private final BitSpielfeld spielfeld = new BitSpielfeld();
+    private final RandomGenerator random;
 
     public HeuristikSpieler(String name) {
+        this(name, Zufall.erzeuge());
+    }
+
+    /**
+     * @param name   Name des Spielers.
+     * @param random Zufallsgenerator, z.B. der des Trainings-Threads.
+     */
+    public HeuristikSpieler(String name, RandomGenerator random) {
         this.name = name;
+        this.random = random;
     }
 
     @Override
     public void neuesSpiel(Farbe farbe, int bedenkzeitInSekunden) {
         this.farbe = farbe;
-        this.spielfeld = new Spielfeld();
+        this.spielfeld.leeren();
     }
 
     @Override
     public Zug berechneZug(Zug vorherigerZug, long zeitKreis, long zeitKreuz) throws IllegalerZugException {
         // 1\. Gegenzug ins interne Spielfeld eintragen
         if (vorherigerZug != null) {
-            spielfeld.setFarbe(
-                    vorherigerZug.getZeile(),
-                    vorherigerZug.getSpalte(),
-                    farbe.opposite()
-            );
+            spielfeld.setze(BitSpielfeld.feld(vorherigerZug), farbe.opposite());
         }
 
-        // 2\. Alle leeren Felder sammeln
-        List<Zug> leereFelder = new ArrayList<>();
-        for (int z = 0; z < 3; z++) {
-            for (int s = 0; s < 3; s++) {
-                if (spielfeld.getFarbe(z, s) == Farbe.Leer) {
-                    leereFelder.add(new Zug(z, s));
-                }
-            }
-        }
+        int feld = berechneFeld(spielfeld.maske(farbe), spielfeld.maske(farbe.opposite()), random);
+        spielfeld.setze(feld, farbe);
+        return BitSpielfeld.zug(feld);
+    }
+
+    /**
+     * Die Heuristik auf Bitmasken: Gewinnzug, sonst Blockzug, sonst zufälliges leeres Feld.
+     * Unter mehreren Gewinn- bzw. Blockfeldern wird wie bisher das erste (zeilenweise) gewählt.
+     *
+     * @param eigene Bitmaske der eigenen Felder.
+     * @param gegner Bitmaske der gegnerischen Felder.
+     * @param random Zufallsgenerator für den Zufallszug.
+     * @return Das gewählte Feld (0-8).
+     */
+    static int berechneFeld(int eigene, int gegner, RandomGenerator random) {
+        // 2\. Alle leeren Felder
+        int leer = ~(eigene | gegner) & BitSpielfeld.ALLE_FELDER;
 
         // 3\. Gewinnzug suchen
-        for (Zug zug : leereFelder) {
-            Spielfeld kopie = spielfeld.clone();
-            kopie.setFarbe(zug.getZeile(), zug.getSpalte(), farbe);
-            if (kopie.pruefeGewinn(farbe) == Spielstand.GEWONNEN) {
-                spielfeld.setFarbe(zug.getZeile(), zug.getSpalte(), farbe);
-                return zug;
-            }
+        int gewinn = BitSpielfeld.gewinnFelder(eigene) & leer;
+        if (gewinn != 0) {
+            return Integer.numberOfTrailingZeros(gewinn);
         }
 
         // 4\. Blockzug gegen direkten Gewinn des Gegners
-        Farbe gegner = farbe.opposite();
-        for (Zug zug : leereFelder) {
-            Spielfeld kopie = spielfeld.clone();
-            kopie.setFarbe(zug.getZeile(), zug.getSpalte(), gegner);
-            if (kopie.pruefeGewinn(gegner) == Spielstand.GEWONNEN) {
-                spielfeld.setFarbe(zug.getZeile(), zug.getSpalte(), farbe);
-                return zug;
-            }
+        int block = BitSpielfeld.gewinnFelder(gegner) & leer;
+        if (block != 0) {
+            return Integer.numberOfTrailingZeros(block);
         }
 
         // 5\. Sonst zufälliges leeres Feld
-        Zug zug = leereFelder.get(random.nextInt(leereFelder.size()));
-        spielfeld.setFarbe(zug.getZeile(), zug.getSpalte(), farbe);
-        return zug;
+        return BitSpielfeld.zufaelligesFeld(leer, random);
     }
 
     @Override public void setName(String name) { this.name = name; }
     @Override public String getName() { return name; }
     @Override public void setFarbe(Farbe farbe) { this.farbe = farbe; }
     @Override public Farbe getFarbe() { return farbe; }
-}
\ No newline at end of file
+}
@@ -0,0 +1,198 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import tictactoe.Farbe;
+
+/**
+ * Perfektes Spiel als vorberechnete Tabelle: Negamax mit Alpha-Beta-Suche über eine
+ * Transpositionstabelle, deren Schlüssel der ternäre Zustandsindex ist
+ * (wie {@link QLearningSpieler#berechneZustandsIndex}).
+ * <p>
+ * Beim Laden der Klasse wird jeder erreichbare Zustand einmal mit vollem Fenster gelöst; danach
+ * sind Wert und beste Züge jedes Zustands ein Array-Zugriff. Der Wert gilt aus Sicht des
+ * Spielers am Zug: positiv = Sieg, 0 = Remis, negativ = Niederlage, der Betrag ist umso größer,
+ * je früher das Spiel endet (schnellster Sieg, spätester Verlust).
+ */
+public final class Minimax {
+    private static final int UNENDLICH = 100;
+
+    // Art des Eintrags in der Transpositionstabelle
+    private static final byte UNBEKANNT = 0;
+    private static final byte EXAKT = 1;
+    private static final byte UNTERE_SCHRANKE = 2; // Beta-Schnitt: Wert >= gespeicherter Wert
+    private static final byte OBERE_SCHRANKE = 3;  // kein Zug besser als Alpha: Wert <= gespeicherter Wert
+
+    private static final byte[] WERT = new byte[ZustandsRaum.ANZAHL_ZUSTAENDE];
+    private static final byte[] ART = new byte[ZustandsRaum.ANZAHL_ZUSTAENDE];
+
+    // BESTE_ZUEGE[zustand] = Felder mit dem besten Wert, OPTIMALE_ZUEGE[zustand] = Felder, die
+    // das spieltheoretische Ergebnis (Sieg/Remis/Niederlage) halten; 0 bei Endzuständen
+    private static final short[] BESTE_ZUEGE = new short[ZustandsRaum.ANZAHL_ZUSTAENDE];
+    private static final short[] OPTIMALE_ZUEGE = new short[ZustandsRaum.ANZAHL_ZUSTAENDE];
+
+    static {
+        ZustandsRaum raum = ZustandsRaum.VOLL;
+        BitSpielfeld spielfeld = new BitSpielfeld();
+        for (int zeile = 0; zeile < raum.anzahlZeilen(); zeile++) {
+            int zustand = raum.zustand(zeile);
+            if (ART[zustand] != EXAKT) {
+                spielfeld.ladeZustand(zustand);
+                negamax(spielfeld, spielfeld.amZug(), -UNENDLICH, UNENDLICH); // volles Fenster: exakt
+            }
+        }
+        for (int zeile = 0; zeile < raum.anzahlZeilen(); zeile++) {
+            int zustand = raum.zustand(zeile);
+            spielfeld.ladeZustand(zustand);
+            if (spielfeld.istBeendet()) {
+                continue;
+            }
+            Farbe amZug = spielfeld.amZug();
+            int wert = WERT[zustand];
+            int beste = 0;
+            int optimale = 0;
+            for (int leer = spielfeld.leereFelder(); leer != 0; leer &= leer - 1) {
+                int feld = Integer.numberOfTrailingZeros(leer);
+                spielfeld.setze(feld, amZug);
+                int folgeWert = -WERT[spielfeld.zustandsIndex()];
+                spielfeld.entferne(feld);
+                if (folgeWert == wert) {
+                    beste |= 1 << feld;
+                }
+                if (Integer.signum(folgeWert) == Integer.signum(wert)) {
+                    optimale |= 1 << feld;
+                }
+            }
+            BESTE_ZUEGE[zustand] = (short) beste;
+            OPTIMALE_ZUEGE[zustand] = (short) optimale;
+        }
+    }
+
+    private Minimax() {
+    }
+
+    // --- 1. Suche ---
+
+    // Negamax mit Alpha-Beta; Ergebnisse landen als exakter Wert oder Schranke in der Tabelle
+    private static int negamax(BitSpielfeld spielfeld, Farbe amZug, int alpha, int beta) {
+        int zustand = spielfeld.zustandsIndex();
+        int leer = spielfeld.leereFelder();
+        if (spielfeld.hatGewonnen(amZug.opposite())) {
+            return speichere(zustand, EXAKT, -(Integer.bitCount(leer) + 1)); // der Gegner hat gerade gewonnen
+        }
+        if (leer == 0) {
+            return speichere(zustand, EXAKT, 0);
+        }
+
+        byte art = ART[zustand];
+        int gespeichert = WERT[zustand];
+        if (art == EXAKT
+                || art == UNTERE_SCHRANKE && gespeichert >= beta
+                || art == OBERE_SCHRANKE && gespeichert <= alpha) {
+            return gespeichert;
+        }
+
+        int alphaStart = alpha;
+        int bester = -UNENDLICH;
+        for (; leer != 0; leer &= leer - 1) {
+            int feld = Integer.numberOfTrailingZeros(leer);
+            spielfeld.setze(feld, amZug);
+            int wert = -negamax(spielfeld, amZug.opposite(), -beta, -alpha);
+            spielfeld.entferne(feld);
+            if (wert > bester) {
+                bester = wert;
+                alpha = Math.max(alpha, wert);
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+        }
+        art = bester <= alphaStart ? OBERE_SCHRANKE : bester >= beta ? UNTERE_SCHRANKE : EXAKT;
+        return speichere(zustand, art, bester);
+    }
+
+    private static int speichere(int zustand, byte art, int wert) {
+        ART[zustand] = art;
+        WERT[zustand] = (byte) wert;
+        return wert;
+    }
+
+    // --- 2. Abfragen ---
+
+    /**
+     * @param zustand Ternärer Index eines erreichbaren Zustands.
+     * @return Wert bei perfektem Spiel aus Sicht des Spielers am Zug (>0 Sieg, 0 Remis, <0 Niederlage).
+     */
+    public static int wert(int zustand) {
+        return WERT[zustand];
+    }
+
+    /**
+     * @param zustand Ternärer Index eines erreichbaren Zustands.
+     * @return Bitmaske der Felder mit dem besten Wert (schnellster Sieg bzw. spätester Verlust).
+     */
+    public static int besteZuege(int zustand) {
+        return BESTE_ZUEGE[zustand];
+    }
+
+    /**
+     * @param zustand Ternärer Index eines erreichbaren Zustands.
+     * @return Bitmaske der Felder, die das Ergebnis bei perfektem Spiel nicht verschlechtern.
+     */
+    public static int optimaleZuege(int zustand) {
+        return OPTIMALE_ZUEGE[zustand];
+    }
+
+    // --- 3. Fehleranalyse einer Politik ---
+
+    /**
+     * Fehler einer Politik gegenüber perfektem Spiel, gezählt über alle erreichbaren,
+     * nicht beendeten Zustände (beide Farben).
+     *
+     * @param zustaende        Anzahl der geprüften Zustände
+     * @param verschenkteSiege Zustände mit sicherem Sieg, in denen die Politik ihn verschenkt
+     * @param verloreneRemis   Remis-Zustände, in denen die Politik in eine verlorene Stellung zieht
+     */
+    public record Fehleranalyse(int zustaende, int verschenkteSiege, int verloreneRemis) {
+
+        public int fehler() {
+            return verschenkteSiege + verloreneRemis;
+        }
+
+        /**
+         * Gibt die Fehler auf der Konsole aus.
+         */
+        public void ausgeben() {
+            System.out.printf("Fehler gegenüber perfektem Spiel: %d von %d Zuständen (%.2f%%), davon %d verschenkte "
+                            + "Siege und %d verlorene Remis%n", fehler(), zustaende, 100.0 * fehler() / zustaende,
+                    verschenkteSiege, verloreneRemis);
+        }
+    }
+
+    /**
+     * @param politik Die zu prüfende Politik.
+     * @return Die Zustände, in denen die Politik keinen optimalen Zug wählt.
+     */
+    public static Fehleranalyse pruefe(Politik politik) {
+        ZustandsRaum raum = ZustandsRaum.VOLL;
+        int zustaende = 0;
+        int verschenkteSiege = 0;
+        int verloreneRemis = 0;
+        for (int zeile = 0; zeile < raum.anzahlZeilen(); zeile++) {
+            int zustand = raum.zustand(zeile);
+            int optimale = OPTIMALE_ZUEGE[zustand];
+            if (optimale == 0) {
+                continue; // Endzustand
+            }
+            zustaende++;
+            int aktion = politik.aktion(zustand);
+            if (aktion >= 0 && (optimale & (1 << aktion)) != 0) {
+                continue;
+            }
+            if (WERT[zustand] > 0) {
+                verschenkteSiege++;
+            } else if (WERT[zustand] == 0) {
+                verloreneRemis++;
+            }
+        }
+        return new Fehleranalyse(zustaende, verschenkteSiege, verloreneRemis);
+    }
+}
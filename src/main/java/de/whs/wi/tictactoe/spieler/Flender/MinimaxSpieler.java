@@ -0,0 +1,50 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import tictactoe.Farbe;
+import tictactoe.Zug;
+import tictactoe.spieler.ISpieler;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Perfekter Spieler auf der vorberechneten {@link Minimax}-Tabelle: zieht gleichverteilt auf
+ * einen der besten Züge (schnellster Sieg, sonst Remis, sonst spätester Verlust). Verliert nie
+ * und eignet sich damit als Referenzgegner für Training und Evaluierung.
+ */
+public class MinimaxSpieler implements ISpieler {
+
+    private String name;
+    private Farbe farbe;
+    private final BitSpielfeld spielfeld = new BitSpielfeld();
+    private final RandomGenerator random;
+
+    public MinimaxSpieler(String name) {
+        this(name, Zufall.erzeuge());
+    }
+
+    public MinimaxSpieler(String name, RandomGenerator random) {
+        this.name = name;
+        this.random = random;
+    }
+
+    @Override
+    public void neuesSpiel(Farbe farbe, int bedenkzeitInSekunden) {
+        this.farbe = farbe;
+        this.spielfeld.leeren();
+    }
+
+    @Override
+    public Zug berechneZug(Zug vorherigerZug, long zeitKreis, long zeitKreuz) {
+        if (vorherigerZug != null) {
+            spielfeld.setze(BitSpielfeld.feld(vorherigerZug), farbe.opposite());
+        }
+        int feld = BitSpielfeld.zufaelligesFeld(Minimax.besteZuege(spielfeld.zustandsIndex()), random);
+        spielfeld.setze(feld, farbe);
+        return BitSpielfeld.zug(feld);
+    }
+
+    @Override public void setName(String name) { this.name = name; }
+    @Override public String getName() { return name; }
+    @Override public void setFarbe(Farbe farbe) { this.farbe = farbe; }
+    @Override public Farbe getFarbe() { return farbe; }
+}
@@ -0,0 +1,167 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import tictactoe.Farbe;
+import tictactoe.spieler.IAbbruchbedingung;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.function.LongToDoubleFunction;
+
+/**
+ * Paralleles Selbstspiel-Training mit gemeinsamer Q-Tabelle (Hogwild).
+ * <p>
+ * Jeder Thread simuliert Spiele mit eigenem {@link TrainingsKontext} und schreibt ohne
+ * Sperren in dieselbe Q-Tabelle. Gelegentlich verlorene Updates bei gleichzeitigem
+ * Schreiben derselben Zelle sind bei der kleinen Lernrate unkritisch. Synchronisiert wird
+ * nur die Abbruchbedingung, und zwar blockweise.
+ * <p>
+ * Alternativ trainiert {@link #trainiereMitShards} jeden Thread auf einer privaten Kopie
+ * der Q-Tabelle; ein Koordinator führt die Kopien nach jeweils {@code mergeIntervall}
+ * Runden pro Shard in die Master-Tabelle zusammen. Im heißen Pfad gibt es dann keine
+ * geteilten Schreibzugriffe, und bei gleichem Seed ist das Ergebnis reproduzierbar.
+ */
+final class ParallelesTraining {
+    private static final int BLOCK_GROESSE = 256; // Runden pro Reservierung
+    private static final int AUSGABE_INTERVALL = 200_000;
+
+    /**
+     * Ein Trainingsspiel eines lernenden Spielers.
+     */
+    @FunctionalInterface
+    interface Episode {
+        void simuliere(Farbe agentenStartFarbe, TrainingsKontext kontext);
+    }
+
+    private ParallelesTraining() {
+    }
+
+    /**
+     * @param abbruchBedingung Abbruchbedingung für das Training
+     * @param anzahlThreads    Anzahl der Trainings-Threads
+     * @param qTabelle         Die gemeinsame Q-Tabelle
+     * @param seed             Startwert für die Zufallsgeneratoren der Threads
+     * @param startRunde       Globale Rundennummer der ersten Runde (beim Fortsetzen > 0)
+     * @param epsilonFuerRunde Epsilon in Abhängigkeit von der globalen Rundennummer
+     * @param nachBlock        Wird nach jedem Block mit der erreichten Rundennummer aufgerufen (Checkpoints)
+     * @param episode          Simuliert ein Spiel
+     * @return Globale Rundennummer nach dem Training (startRunde + gespielte Runden)
+     */
+    static long trainiere(IAbbruchbedingung abbruchBedingung, int anzahlThreads, QTabelle qTabelle, long seed,
+                          long startRunde, LongToDoubleFunction epsilonFuerRunde, LongConsumer nachBlock,
+                          Episode episode) {
+        SynchronisierteAbbruchbedingung abbruch = new SynchronisierteAbbruchbedingung(abbruchBedingung);
+        AtomicLong rundenZaehler = new AtomicLong(startRunde);
+
+        ExecutorService executor = Executors.newFixedThreadPool(anzahlThreads);
+        try {
+            List<Future<?>> ergebnisse = new ArrayList<>();
+            for (int i = 0; i < anzahlThreads; i++) {
+                RandomGenerator random = Zufall.erzeuge(seed + i);
+                ergebnisse.add(executor.submit(() -> {
+                    TrainingsKontext kontext = new TrainingsKontext(qTabelle, random);
+                    int runden;
+                    while ((runden = abbruch.reserviere(BLOCK_GROESSE)) > 0) {
+                        long von = rundenZaehler.getAndAdd(runden);
+                        spieleRunden(von, von + runden, kontext, epsilonFuerRunde, episode);
+                        nachBlock.accept(von + runden);
+                    }
+                }));
+            }
+            warteAufAlle(ergebnisse, abbruch);
+        } finally {
+            executor.shutdownNow();
+        }
+        return rundenZaehler.get();
+    }
+
+    /**
+     * @param abbruchBedingung Abbruchbedingung für das Training
+     * @param anzahlShards     Anzahl der Shards (= Threads)
+     * @param mergeIntervall   Runden pro Shard zwischen zwei Zusammenführungen
+     * @param besuchsGewichtet true: Zusammenführung gewichtet nach Updates, false: Mittelwert
+     * @param master           Die Master-Q-Tabelle, enthält am Ende das Ergebnis
+     * @param seed             Startwert für die Zufallsgeneratoren der Shards
+     * @param startRunde       Globale Rundennummer der ersten Runde (beim Fortsetzen > 0)
+     * @param epsilonFuerRunde Epsilon in Abhängigkeit von der globalen Rundennummer
+     * @param nachMerge        Wird nach jeder Zusammenführung mit der erreichten Rundennummer aufgerufen
+     * @param episode          Simuliert ein Spiel
+     * @return Globale Rundennummer nach dem Training (startRunde + gespielte Runden)
+     */
+    static long trainiereMitShards(IAbbruchbedingung abbruchBedingung, int anzahlShards, int mergeIntervall,
+                                   boolean besuchsGewichtet, QTabelle master, long seed, long startRunde,
+                                   LongToDoubleFunction epsilonFuerRunde, LongConsumer nachMerge, Episode episode) {
+        SynchronisierteAbbruchbedingung abbruch = new SynchronisierteAbbruchbedingung(abbruchBedingung);
+        QTabelle[] shards = new QTabelle[anzahlShards];
+        TrainingsKontext[] kontexte = new TrainingsKontext[anzahlShards];
+        for (int i = 0; i < anzahlShards; i++) {
+            shards[i] = master.kopie();
+            if (besuchsGewichtet) {
+                shards[i].zaehleBesuche();
+            }
+            kontexte[i] = new TrainingsKontext(shards[i], Zufall.erzeuge(seed + i));
+        }
+
+        long rundenZaehler = startRunde;
+        ExecutorService executor = Executors.newFixedThreadPool(anzahlShards);
+        try {
+            int runden;
+            while ((runden = abbruch.reserviere(anzahlShards * mergeIntervall)) > 0) {
+                // Runden gleichmäßig und deterministisch auf die Shards verteilen
+                List<Future<?>> ergebnisse = new ArrayList<>();
+                long start = rundenZaehler;
+                for (int i = 0; i < anzahlShards; i++) {
+                    long von = start + (long) runden * i / anzahlShards;
+                    long bis = start + (long) runden * (i + 1) / anzahlShards;
+                    TrainingsKontext kontext = kontexte[i];
+                    ergebnisse.add(executor.submit(() -> spieleRunden(von, bis, kontext, epsilonFuerRunde, episode)));
+                }
+                warteAufAlle(ergebnisse, abbruch);
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                rundenZaehler += runden;
+                master.fuehreZusammen(shards, besuchsGewichtet);
+                nachMerge.accept(rundenZaehler);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return rundenZaehler;
+    }
+
+    // Wechselnde Startspieler wie im sequentiellen Training
+    private static void spieleRunden(long von, long bis, TrainingsKontext kontext,
+                                     LongToDoubleFunction epsilonFuerRunde, Episode episode) {
+        for (long runde = von; runde < bis; runde++) {
+            Farbe starterFarbe = (runde % 2 == 0) ? Farbe.Kreuz : Farbe.Kreis;
+            kontext.epsilon = epsilonFuerRunde.applyAsDouble(runde);
+            episode.simuliere(starterFarbe, kontext);
+
+            if (runde % AUSGABE_INTERVALL == 0) {
+                System.out.printf("Runde %d. Epsilon: %.4f%n", runde, kontext.epsilon);
+            }
+        }
+    }
+
+    private static void warteAufAlle(List<Future<?>> ergebnisse, SynchronisierteAbbruchbedingung abbruch) {
+        for (Future<?> ergebnis : ergebnisse) {
+            try {
+                ergebnis.get();
+            } catch (InterruptedException e) {
+                abbruch.beende();
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                abbruch.beende();
+                throw new IllegalStateException("Fehler im Trainings-Thread", e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+/**
+ * Eingefrorene Politik: die gierige Aktion jedes erreichbaren Zustands, vorberechnet aus einer
+ * {@link QTabelle}. Ein Wettkampfzug ist damit ein einziger Array-Zugriff, ohne Argmax und ohne
+ * Symmetrie-Abbildung (auch bei symmetrie-reduzierter Q-Tabelle wird über alle 5478 Zustände
+ * von {@link ZustandsRaum#VOLL} kompiliert).
+ */
+public final class Politik {
+    private final byte[] aktionen; // je Zeile von ZustandsRaum.VOLL, -1 bei Endzuständen
+
+    Politik(byte[] aktionen) {
+        this.aktionen = aktionen;
+    }
+
+    /**
+     * @param qTabelle Die gelernte Q-Tabelle.
+     * @return Die Politik mit {@link QTabelle#besteAktion(int)} für jeden erreichbaren Zustand.
+     */
+    public static Politik aus(QTabelle qTabelle) {
+        // Beste Aktion aller Zeilen der Tabelle auf einmal (Vector API nur mit Profil vektor, siehe StapelAuswertung)
+        ZustandsRaum tabellenRaum = qTabelle.raum();
+        int[] zeilen = new int[tabellenRaum.anzahlZeilen()];
+        for (int zeile = 0; zeile < zeilen.length; zeile++) {
+            zeilen[zeile] = zeile;
+        }
+        int[] besteAktionen = new int[zeilen.length];
+        StapelAuswertung.besteAktionen(qTabelle, zeilen, zeilen.length, besteAktionen);
+
+        ZustandsRaum raum = ZustandsRaum.VOLL;
+        byte[] aktionen = new byte[raum.anzahlZeilen()];
+        for (int zeile = 0; zeile < aktionen.length; zeile++) {
+            int aktion;
+            if (qTabelle.istSymmetrisch()) {
+                int zustand = raum.zustand(zeile);
+                aktion = besteAktionen[tabellenRaum.zeile(Symmetrie.kanonisch(zustand))];
+                if (aktion >= 0) {
+                    aktion = Symmetrie.zurueckAbbilden(Symmetrie.transformation(zustand), aktion);
+                }
+            } else {
+                aktion = besteAktionen[zeile];
+            }
+            aktionen[zeile] = (byte) aktion;
+        }
+        return new Politik(aktionen);
+    }
+
+    /**
+     * @param zustand Ternärer Zustandsindex.
+     * @return Die Aktion der Politik oder -1, wenn der Zustand unbekannt oder beendet ist.
+     */
+    public int aktion(int zustand) {
+        int zeile = ZustandsRaum.VOLL.zeile(zustand);
+        return zeile < 0 ? -1 : aktionen[zeile];
+    }
+
+    byte[] aktionen() {
+        return aktionen;
+    }
+}
@@ -0,0 +1,51 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import tictactoe.Farbe;
+import tictactoe.Zug;
+import tictactoe.spieler.ISpieler;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Wettkampfspieler auf einer eingefrorenen {@link Politik}: jeder Zug ist ein Nachschlagen.
+ * Die Politik ist unveränderlich und kann von beliebig vielen Spielern (z.B. je
+ * Evaluierungs-Thread einer) gleichzeitig genutzt werden.
+ */
+public class PolitikSpieler implements ISpieler {
+
+    private String name;
+    private Farbe farbe;
+    private final Politik politik;
+    private final BitSpielfeld spielfeld = new BitSpielfeld();
+    private final RandomGenerator random = Zufall.erzeuge();
+
+    public PolitikSpieler(String name, Politik politik) {
+        this.name = name;
+        this.politik = politik;
+    }
+
+    @Override
+    public void neuesSpiel(Farbe farbe, int bedenkzeitInSekunden) {
+        this.farbe = farbe;
+        this.spielfeld.leeren();
+    }
+
+    @Override
+    public Zug berechneZug(Zug vorherigerZug, long zeitKreis, long zeitKreuz) {
+        if (vorherigerZug != null) {
+            spielfeld.setze(BitSpielfeld.feld(vorherigerZug), farbe.opposite());
+        }
+        int feld = politik.aktion(spielfeld.zustandsIndex());
+        if (feld == -1) {
+            // Unbekannter Zustand: zufälliges leeres Feld
+            feld = BitSpielfeld.zufaelligesFeld(spielfeld.leereFelder(), random);
+        }
+        spielfeld.setze(feld, farbe);
+        return BitSpielfeld.zug(feld);
+    }
+
+    @Override public void setName(String name) { this.name = name; }
+    @Override public String getName() { return name; }
+    @Override public void setFarbe(Farbe farbe) { this.farbe = farbe; }
+    @Override public Farbe getFarbe() { return farbe; }
+}
@@ -0,0 +1,382 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import tictactoe.Farbe;
+import tictactoe.IllegalerZugException;
+import tictactoe.Zug;
+import tictactoe.spieler.IAbbruchbedingung;
+import tictactoe.spieler.ILernenderSpieler;
+import tictactoe.spieler.ISpieler;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+ * Lernender Spieler mit Prioritized Sweeping: lernt aus echten Trainingsspielen ein Modell des
+ * Gegners und plant damit, statt jeden Übergang nur einmal zu verwerten.
+ * <p>
+ * Das Modell zählt je Zustand-Aktions-Paar (Position in der {@link QTabelle}), wie oft der
+ * Gegner mit welchem Feld geantwortet hat. Q(s, a) wird immer als volle Erwartung über diese
+ * Häufigkeiten berechnet, wie bei {@link WertIterationsSpieler}, nur mit gelerntem statt
+ * bekanntem Gegner. Paare, deren Erwartung sich um mehr als {@link #SCHWELLE} vom Q-Wert
+ * unterscheidet, kommen mit |TD-Fehler| als Priorität in eine {@link PrioritaetsWarteschlange}.
+ * Nach jedem Spiel werden die dringendsten Paare neu berechnet; ändert sich dabei max Q(s'),
+ * werden die beobachteten Vorgänger von s' eingereiht. So laufen die Rewards der Endzustände
+ * rückwärts durch die Tabelle. Die Vorgänger brauchen keine eigene Liste: es sind die Zustände
+ * ohne je einen eigenen und einen gegnerischen Stein, deren Modell diesen Übergang gezählt hat.
+ * <p>
+ * Gespeichert wird nur die Q-Tabelle im Format von {@link WissensDatei}, nicht das Modell.
+ */
+public class PriorisiertesSweepingSpieler implements ILernenderSpieler {
+    // Lernparameter
+    private static final double EPSILON = 0.1; // Exploration in den Trainingsspielen
+    private static final double SCHWELLE = 1e-6; // kleinere |TD-Fehler| werden nicht eingereiht
+    private static final int ANZAHL_FELDER = BitSpielfeld.ANZAHL_FELDER;
+
+    private QTabelle qTabelle = new QTabelle();
+    private final ZustandsRaum raum = ZustandsRaum.VOLL;
+    private Politik politik; // nach dem Training eingefroren
+    private int planungsSchritte = 100; // Neuberechnungen je Trainingsspiel
+    private long runden; // gespielte Trainingsspiele
+
+    // Modell: antworten[position * 9 + feld] = Gegnerantworten, besuche[position] = Summe bzw. Endzüge
+    private final int[] antworten = new int[raum.anzahlWerte() * ANZAHL_FELDER];
+    private final int[] besuche = new int[raum.anzahlWerte()];
+    private final PrioritaetsWarteschlange warteschlange = new PrioritaetsWarteschlange(raum.anzahlWerte());
+    // Position -> (Zustand, Aktion), einmal vorberechnet
+    private final int[] zustandVonPosition = new int[raum.anzahlWerte()];
+    private final byte[] aktionVonPosition = new byte[raum.anzahlWerte()];
+    private final BitSpielfeld modellFeld = new BitSpielfeld();
+
+    private final Belohnungen belohnungen; // Rewards aus Sicht des Agenten und Diskontfaktor
+    private RandomGenerator random = Zufall.erzeuge();
+    private Function<RandomGenerator, ? extends ISpieler> trainingsGegner; // null = HeuristikSpieler
+    private final TrainingsMetriken metriken = new TrainingsMetriken();
+
+    // ISpieler-Attribute
+    private String name;
+    private Farbe farbe;
+    private final BitSpielfeld internesSpielfeld = new BitSpielfeld();
+
+    /**
+     * @param name        Name des Spielers.
+     * @param belohnungen Rewards und Diskontfaktor, z.B. {@link Belohnungen#HEURISTIK}.
+     */
+    public PriorisiertesSweepingSpieler(String name, Belohnungen belohnungen) {
+        this.name = name;
+        this.belohnungen = belohnungen;
+        for (int zeile = 0; zeile < raum.anzahlZeilen(); zeile++) {
+            int position = raum.start(zeile);
+            for (int legal = raum.legaleAktionen(zeile); legal != 0; legal &= legal - 1) {
+                zustandVonPosition[position] = raum.zustand(zeile);
+                aktionVonPosition[position++] = (byte) Integer.numberOfTrailingZeros(legal);
+            }
+        }
+    }
+
+    // --- 1. Training ---
+
+    /**
+     * Spielt Trainingsspiele gegen den Trainingsgegner (Standard {@link HeuristikSpieler}) und
+     * plant nach jedem Spiel; am Ende wird die Warteschlange vollständig abgearbeitet. Die
+     * Abbruchbedingung wird einmal je Spiel geprüft, das Modell bleibt über mehrere Trainings
+     * erhalten.
+     *
+     * @param abbruchBedingung Abbruchbedingung für das Training
+     * @return true, wenn das Training erfolgreich abgeschlossen wurde
+     */
+    @Override
+    public boolean trainieren(IAbbruchbedingung abbruchBedingung) {
+        this.politik = null;
+        metriken.beginne(qTabelle);
+        if (abbruchBedingung instanceof AbbruchNachKonvergenz konvergenz) {
+            konvergenz.beobachte(qTabelle);
+        }
+        TrainingsKontext kontext = new TrainingsKontext(qTabelle, random);
+        kontext.epsilon = EPSILON;
+        kontext.gegner = trainingsGegner != null ? trainingsGegner.apply(kontext.random)
+                : new HeuristikSpieler("Heuristik-Gegner", kontext.random);
+
+        while (!abbruchBedingung.abbruch()) {
+            Farbe agentenFarbe = runden % 2 == 0 ? Farbe.Kreuz : Farbe.Kreis;
+            spiele(agentenFarbe, kontext);
+            plane(planungsSchritte, kontext);
+            metriken.episodeBeendet(kontext, agentenFarbe);
+            runden++;
+        }
+        plane(Integer.MAX_VALUE, kontext); // Tabelle mit dem Modell konsistent machen
+        this.politik = Politik.aus(qTabelle);
+        return true;
+    }
+
+    // Ein echtes Spiel: Epsilon-greedy gegen den Gegner, jede Gegnerantwort geht ins Modell
+    private void spiele(Farbe agentenFarbe, TrainingsKontext kontext) {
+        BitSpielfeld spielfeld = kontext.spielfeld;
+        spielfeld.leeren();
+        ISpieler gegner = kontext.gegner;
+        Farbe gegnerFarbe = agentenFarbe.opposite();
+        gegner.neuesSpiel(gegnerFarbe, 0);
+
+        Farbe amZug = Farbe.Kreuz;
+        Zug letzterZug = null;
+        int offen = -1; // Position des letzten Agentenzugs, dessen Gegnerantwort noch aussteht
+        while (true) {
+            if (amZug == agentenFarbe) {
+                int zustand = spielfeld.zustandsIndex();
+                int aktion = waehleAktion(kontext);
+                spielfeld.setze(aktion, agentenFarbe);
+                letzterZug = BitSpielfeld.zug(aktion);
+                int position = raum.position(raum.zeile(zustand), aktion);
+                if (spielfeld.istBeendet()) {
+                    besuche[position]++; // Sieg oder Remis durch den eigenen Zug
+                    reiheEin(position);
+                    return;
+                }
+                offen = position;
+            } else {
+                gegner.setFarbe(gegnerFarbe);
+                int feld;
+                try {
+                    feld = BitSpielfeld.feld(gegner.berechneZug(letzterZug, 0, 0));
+                } catch (IllegalerZugException e) {
+                    feld = BitSpielfeld.zufaelligesFeld(spielfeld.leereFelder(), kontext.random);
+                }
+                if (!spielfeld.istLeer(feld)) {
+                    // Besetztes Feld würde den Zustandsindex verfälschen, also wie beim illegalen Zug
+                    feld = BitSpielfeld.zufaelligesFeld(spielfeld.leereFelder(), kontext.random);
+                }
+                spielfeld.setze(feld, gegnerFarbe);
+                letzterZug = BitSpielfeld.zug(feld);
+                if (offen >= 0) {
+                    antworten[offen * ANZAHL_FELDER + feld]++;
+                    besuche[offen]++;
+                    reiheEin(offen);
+                    offen = -1;
+                }
+                if (spielfeld.istBeendet()) {
+                    return;
+                }
+            }
+            amZug = amZug.opposite();
+        }
+    }
+
+    private int waehleAktion(TrainingsKontext kontext) {
+        BitSpielfeld spielfeld = kontext.spielfeld;
+        int leer = spielfeld.leereFelder();
+        if (kontext.random.nextDouble() < kontext.epsilon) {
+            return BitSpielfeld.zufaelligesFeld(leer, kontext.random);
+        }
+        int aktion = qTabelle.besteAktion(spielfeld.zustandsIndex());
+        return aktion == -1 ? BitSpielfeld.zufaelligesFeld(leer, kontext.random) : aktion;
+    }
+
+    // Berechnet bis zu maxSchritte der dringendsten Paare neu und reiht betroffene Vorgänger ein
+    private void plane(int maxSchritte, TrainingsKontext kontext) {
+        double[] werte = qTabelle.werte();
+        for (int schritt = 0; schritt < maxSchritte; schritt++) {
+            int position = warteschlange.entnehme();
+            if (position < 0) {
+                return;
+            }
+            int zustand = zustandVonPosition[position];
+            double maxAlt = qTabelle.maxWert(zustand);
+            double neu = erwartung(position);
+            kontext.zaehler.tdFehler(neu - werte[position]);
+            werte[position] = neu;
+            if (qTabelle.maxWert(zustand) != maxAlt) {
+                reiheVorgaengerEin(zustand);
+            }
+        }
+    }
+
+    // Reiht alle beobachteten (s, a) ein, die über eine Gegnerantwort nach zustand führen
+    private void reiheVorgaengerEin(int zustand) {
+        BitSpielfeld feld = modellFeld;
+        feld.ladeZustand(zustand);
+        Farbe agent = feld.amZug();
+        int eigene = feld.maske(agent);
+        int gegnerische = feld.maske(agent.opposite());
+        for (int e = eigene; e != 0; e &= e - 1) {
+            int aktion = Integer.numberOfTrailingZeros(e);
+            for (int g = gegnerische; g != 0; g &= g - 1) {
+                int antwort = Integer.numberOfTrailingZeros(g);
+                feld.ladeZustand(zustand);
+                feld.entferne(aktion);
+                feld.entferne(antwort);
+                int zeile = raum.zeile(feld.zustandsIndex());
+                if (zeile < 0 || (raum.legaleAktionen(zeile) & (1 << aktion)) == 0) {
+                    continue; // kein erreichbarer Zustand mit diesem Zug
+                }
+                int position = raum.position(zeile, aktion);
+                if (antworten[position * ANZAHL_FELDER + antwort] > 0) {
+                    reiheEin(position);
+                }
+            }
+        }
+    }
+
+    private void reiheEin(int position) {
+        double prioritaet = Math.abs(erwartung(position) - qTabelle.werte()[position]);
+        if (prioritaet > SCHWELLE) {
+            warteschlange.erhoehe(position, prioritaet);
+        }
+    }
+
+    // Erwarteter Wert von (s, a) nach dem Modell: Endzustand oder Mittel über die gezählten Antworten
+    private double erwartung(int position) {
+        BitSpielfeld feld = modellFeld;
+        feld.ladeZustand(zustandVonPosition[position]);
+        Farbe agent = feld.amZug();
+        feld.setze(aktionVonPosition[position], agent);
+        if (feld.hatGewonnen(agent)) {
+            return belohnungen.sieg();
+        }
+        if (feld.istVoll()) {
+            return belohnungen.unentschieden();
+        }
+        int anzahl = besuche[position];
+        if (anzahl == 0) {
+            return qTabelle.werte()[position]; // noch keine Beobachtung
+        }
+        Farbe gegnerFarbe = agent.opposite();
+        double summe = 0.0;
+        int basis = position * ANZAHL_FELDER;
+        for (int antwort = 0; antwort < ANZAHL_FELDER; antwort++) {
+            int n = antworten[basis + antwort];
+            if (n == 0) {
+                continue;
+            }
+            feld.setze(antwort, gegnerFarbe);
+            double wert;
+            if (feld.hatGewonnen(gegnerFarbe)) {
+                wert = belohnungen.niederlage();
+            } else if (feld.istVoll()) {
+                wert = belohnungen.unentschieden();
+            } else {
+                wert = belohnungen.gamma() * qTabelle.maxWert(feld.zustandsIndex());
+            }
+            feld.entferne(antwort);
+            summe += n * wert;
+        }
+        return summe / anzahl;
+    }
+
+    /**
+     * @param schritte Neuberechnungen aus der Warteschlange nach jedem Trainingsspiel.
+     */
+    public void setPlanungsSchritte(int schritte) {
+        this.planungsSchritte = schritte;
+    }
+
+    /**
+     * Ersetzt den Gegner im Training (Standard {@link HeuristikSpieler}).
+     *
+     * @param trainingsGegner Erzeugt den Gegner mit dem Zufallsgenerator des Trainings, null = Standardgegner.
+     */
+    public void setTrainingsGegner(Function<RandomGenerator, ? extends ISpieler> trainingsGegner) {
+        this.trainingsGegner = trainingsGegner;
+    }
+
+    /**
+     * @param seed Startwert; Training und Wettkampf-Fallbacks sind danach reproduzierbar.
+     */
+    public void setSeed(long seed) {
+        this.random = Zufall.erzeuge(seed);
+    }
+
+    /**
+     * @return Gespielte Trainingsspiele (über alle Trainings).
+     */
+    public long getRunden() {
+        return runden;
+    }
+
+    /**
+     * @return Kennzahlen des laufenden bzw. letzten Trainings.
+     */
+    public TrainingsMetriken getMetriken() {
+        return metriken;
+    }
+
+    /**
+     * @return Die gelernte Politik (z.B. für {@link ExakteEvaluierung} oder {@link Minimax#pruefe}).
+     */
+    public Politik getPolitik() {
+        if (politik == null) {
+            politik = Politik.aus(qTabelle);
+        }
+        return politik;
+    }
+
+    /**
+     * @return Ein unabhängiger Wettkampfspieler mit der gelernten Politik.
+     */
+    public ISpieler wettkampfSpieler() {
+        return new PolitikSpieler(name, getPolitik());
+    }
+
+    // --- 2. Wissen speichern / laden ---
+
+    /**
+     * Speichert die Q-Tabelle im Format von {@link WissensDatei} (Epsilon 0, Rundenzähler =
+     * Trainingsspiele) und die Politik daneben.
+     *
+     * @param dateiPfad Zieldatei.
+     * @throws IOException bei Schreibfehlern.
+     */
+    @Override
+    public void speichereWissen(String dateiPfad) throws IOException {
+        WissensDatei.schreibe(dateiPfad, qTabelle, 0.0, runden);
+        WissensDatei.schreibePolitik(WissensDatei.politikPfad(dateiPfad), getPolitik(), qTabelle, runden);
+        System.out.println("Q-Matrix (Prioritized Sweeping) gespeichert unter: " + dateiPfad);
+    }
+
+    /**
+     * Lädt eine Wissensdatei, auch eine der anderen lernenden Spieler. Das Modell beginnt leer;
+     * noch nicht beobachtete Paare behalten ihren geladenen Wert.
+     *
+     * @param dateiPfad Die Wissensdatei.
+     * @throws IOException wenn die Datei fehlt oder beschädigt ist.
+     */
+    @Override
+    public void ladeWissen(String dateiPfad) throws IOException {
+        WissensDatei.Inhalt inhalt = WissensDatei.lade(dateiPfad);
+        this.qTabelle = inhalt.qTabelle().imVollenRaum(); // Modell und Warteschlange adressieren Positionen im vollen Raum
+        this.runden = inhalt.runden();
+        Arrays.fill(antworten, 0);
+        Arrays.fill(besuche, 0);
+        warteschlange.leeren();
+        // Politik verwenden, wenn sie neben der Wissensdatei liegt und aus genau dieser Tabelle stammt
+        this.politik = WissensDatei.ladePolitik(WissensDatei.politikPfad(dateiPfad), inhalt.qTabelle(), runden);
+        System.out.println("Q-Matrix erfolgreich geladen.");
+    }
+
+    // --- 3. ISpieler ---
+
+    @Override
+    public void neuesSpiel(Farbe farbe, int bedenkzeitInSekunden) {
+        this.farbe = farbe;
+        this.internesSpielfeld.leeren();
+    }
+
+    @Override
+    public Zug berechneZug(Zug vorherigerZug, long zeitKreis, long zeitKreuz) throws IllegalerZugException {
+        if (vorherigerZug != null) {
+            internesSpielfeld.setze(BitSpielfeld.feld(vorherigerZug), farbe.opposite());
+        }
+        int feld = getPolitik().aktion(internesSpielfeld.zustandsIndex());
+        if (feld == -1) {
+            // Unbekannter Zustand: zufälliges leeres Feld
+            feld = BitSpielfeld.zufaelligesFeld(internesSpielfeld.leereFelder(), random);
+        }
+        internesSpielfeld.setze(feld, farbe);
+        return BitSpielfeld.zug(feld);
+    }
+
+    @Override public void setName(String name) { this.name = name; }
+    @Override public String getName() { return name; }
+    @Override public void setFarbe(Farbe farbe) { this.farbe = farbe; }
+    @Override public Farbe getFarbe() { return farbe; }
+}
@@ -0,0 +1,115 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import java.util.Arrays;
+
+/**
+ * Indizierte Max-Prioritätswarteschlange über die Ganzzahlen 0 bis {@code anzahl - 1}, als
+ * binärer Heap in primitiven Arrays. Jeder Eintrag ist höchstens einmal enthalten; wird er
+ * erneut eingefügt, zählt die höhere der beiden Prioritäten.
+ */
+final class PrioritaetsWarteschlange {
+    private final int[] heap;         // Einträge in Heap-Ordnung
+    private final int[] platz;        // Platz eines Eintrags im Heap, -1 = nicht enthalten
+    private final double[] prioritaet;
+    private int groesse;
+
+    /**
+     * @param anzahl Anzahl möglicher Einträge.
+     */
+    PrioritaetsWarteschlange(int anzahl) {
+        heap = new int[anzahl];
+        platz = new int[anzahl];
+        prioritaet = new double[anzahl];
+        Arrays.fill(platz, -1);
+    }
+
+    /**
+     * Fügt den Eintrag ein oder hebt seine Priorität an; eine niedrigere Priorität wird ignoriert.
+     */
+    void erhoehe(int eintrag, double neuePrioritaet) {
+        int i = platz[eintrag];
+        if (i < 0) {
+            i = groesse++;
+            heap[i] = eintrag;
+            platz[eintrag] = i;
+        } else if (neuePrioritaet <= prioritaet[eintrag]) {
+            return;
+        }
+        prioritaet[eintrag] = neuePrioritaet;
+        nachOben(i);
+    }
+
+    /**
+     * @return Der Eintrag mit der höchsten Priorität (wird entfernt), -1 wenn leer.
+     */
+    int entnehme() {
+        if (groesse == 0) {
+            return -1;
+        }
+        int oben = heap[0];
+        platz[oben] = -1;
+        int letzter = heap[--groesse];
+        if (groesse > 0) {
+            heap[0] = letzter;
+            platz[letzter] = 0;
+            nachUnten(0);
+        }
+        return oben;
+    }
+
+    boolean istLeer() {
+        return groesse == 0;
+    }
+
+    int groesse() {
+        return groesse;
+    }
+
+    /**
+     * Entfernt alle Einträge.
+     */
+    void leeren() {
+        for (int i = 0; i < groesse; i++) {
+            platz[heap[i]] = -1;
+        }
+        groesse = 0;
+    }
+
+    private void nachOben(int i) {
+        int eintrag = heap[i];
+        double p = prioritaet[eintrag];
+        while (i > 0) {
+            int eltern = (i - 1) >>> 1;
+            int oben = heap[eltern];
+            if (prioritaet[oben] >= p) {
+                break;
+            }
+            heap[i] = oben;
+            platz[oben] = i;
+            i = eltern;
+        }
+        heap[i] = eintrag;
+        platz[eintrag] = i;
+    }
+
+    private void nachUnten(int i) {
+        int eintrag = heap[i];
+        double p = prioritaet[eintrag];
+        int haelfte = groesse >>> 1;
+        while (i < haelfte) {
+            int kind = 2 * i + 1;
+            int rechts = kind + 1;
+            if (rechts < groesse && prioritaet[heap[rechts]] > prioritaet[heap[kind]]) {
+                kind = rechts;
+            }
+            if (p >= prioritaet[heap[kind]]) {
+                break;
+            }
+            heap[i] = heap[kind];
+            platz[heap[i]] = i;
+            i = kind;
+        }
+        heap[i] = eintrag;
+        platz[eintrag] = i;
+    }
+}
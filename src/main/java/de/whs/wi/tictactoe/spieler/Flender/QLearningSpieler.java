@@ -0,0 +1,585 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import tictactoe.*;
+import tictactoe.spieler.IAbbruchbedingung;
+import tictactoe.spieler.ILernenderSpieler;
+import tictactoe.spieler.ISpieler;
+
+import java.io.IOException;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+ * Gemeinsame Grundlage der tabellarischen Q-Learning-Spieler: Training (sequentiell, parallel,
+ * mit Shards), Checkpoints, Experience Replay, Wissensspeicherung und Wettkampf. Die Unterklassen
+ * legen nur Rewards, Standardgegner und Epsilon-Kurve fest.
+ */
+public abstract class QLearningSpieler implements ILernenderSpieler {
+    // --- Q-Matrix und Hyperparameter ---
+    private static final int ANZAHL_AKTIONEN = QTabelle.ANZAHL_AKTIONEN; // 3x3 Spielfeld
+
+    // Q-Matrix: kompakt, nur erreichbare Zustände und deren legale Aktionen
+    private QTabelle qTabelle;
+    private Politik politik; // eingefrorene Politik für den Wettkampf, null = direkt aus der Q-Tabelle
+
+    // Checkpoints und Fortsetzen
+    private long runden; // trainierte Runden seit Beginn der Exploration, wird mitgespeichert
+    private boolean fortsetzen; // true nach ladeCheckpoint: nächstes Training setzt Epsilon-Kurve fort
+    private CheckpointSchreiber checkpoint; // null = keine Checkpoints
+    private final TrainingsMetriken metriken = new TrainingsMetriken(); // Kennzahlen des laufenden Trainings
+    private static final int CHECKPOINT_PRUEFINTERVALL = 256; // Runden zwischen zwei Prüfungen (sequentiell)
+
+    // Lernparameter
+    private static final double ALPHA = 0.2; // Lernrate
+    private final Belohnungen belohnungen; // Rewards und Diskontfaktor
+    private final double EPSILON_TRAINING_START = 1.0; // Startwert für Epsilon im Training
+    private double epsilon = 1.0; // Explorationsrate
+    private final double minEpsilon;
+    private final double epsilonDecayRunden; // Runden, in denen Epsilon auf minEpsilon sinkt
+
+    private final Function<RandomGenerator, ? extends ISpieler> standardGegner; // Gegner im Training ohne trainingsGegner
+
+    private RandomGenerator random = Zufall.erzeuge();
+    private Function<RandomGenerator, ? extends ISpieler> trainingsGegner; // null = Standardgegner
+    private int replayKapazitaet; // Übergänge je Trainings-Thread, 0 = ohne Experience Replay
+    private int replayStapel;
+    private boolean replayPriorisiert;
+
+    // ISpieler-Attribute
+    private String agentName;
+    private Farbe agentFarbe;
+    private BitSpielfeld internesSpielfeld; // Kopie des Spielfelds für interne Zustandsverfolgung
+
+    // --- Konstruktor ---
+
+    /**
+     * @param name               Name des Spielers.
+     * @param symmetrieReduktion true, um gedrehte/gespiegelte Spielfelder gemeinsam zu lernen
+     *                           (765 statt 5478 Zustände).
+     * @param belohnungen        Rewards und Diskontfaktor.
+     * @param minEpsilon         Epsilon nach dem Decay.
+     * @param epsilonDecayRunden Runden, in denen Epsilon von 1.0 auf minEpsilon sinkt.
+     * @param standardGegner     Erzeugt je Trainings-Thread den Gegner, solange kein eigener gesetzt ist.
+     */
+    QLearningSpieler(String name, boolean symmetrieReduktion, Belohnungen belohnungen, double minEpsilon,
+                     double epsilonDecayRunden, Function<RandomGenerator, ? extends ISpieler> standardGegner) {
+        this.agentName = name;
+        this.qTabelle = new QTabelle(symmetrieReduktion);
+        this.belohnungen = belohnungen;
+        this.minEpsilon = minEpsilon;
+        this.epsilonDecayRunden = epsilonDecayRunden;
+        this.standardGegner = standardGegner;
+    }
+
+    // --- 1. Zustands- und Aktionslogik ---
+
+    /**
+     * Konvertiert den 3x3-Zustand des Spielfelds in einen eindeutigen ternären Index (0 bis 19682).
+     *
+     * @param internesSpielfeld Das aktuelle Spielfeld.
+     * @return Der ternäre Index des Zustands.
+     */
+    public static int berechneZustandsIndex(Spielfeld internesSpielfeld) {
+        int index = 0;
+        for (int feld = 0; feld < ANZAHL_AKTIONEN; feld++) {
+            // toInt(): Leer=0, Kreis=1, Kreuz=2
+            int farbWert = internesSpielfeld.getFarbe(feld / 3, feld % 3).toInt();
+            index += farbWert * BitSpielfeld.DREIER_POTENZEN[feld];
+        }
+        return index;
+    }
+
+    /**
+     * Wählt die beste Aktion (Index 0-8) basierend auf der Epsilon-Greedy-Strategie.
+     *
+     * @param kontext Trainingskontext mit dem aktuellen Spielfeld.
+     * @return Der Index der gewählten Aktion.
+     */
+    int waehleAktion(TrainingsKontext kontext) {
+        BitSpielfeld feld = kontext.spielfeld;
+        RandomGenerator random = kontext.random;
+        int sIndex = feld.zustandsIndex();
+        int leer = feld.leereFelder();
+
+        // Exploration (Zufälliger Zug, direkt aus den leeren Feldern gezogen)
+        if (random.nextDouble() < kontext.epsilon) {
+            return BitSpielfeld.zufaelligesFeld(leer, random);
+        }
+
+        // Exploitation (Beste bekannte Aktion, nur leere Felder)
+        else {
+            int besteAktion = kontext.qTabelle.besteAktion(sIndex);
+
+            // Fallback, falls doch kein optimaler Zug gefunden wird (sollte
+            // bei Leerfeldern aber nie eintreten)
+            if (besteAktion == -1) {
+                // Wählt zufällig ein leeres Feld
+                besteAktion = BitSpielfeld.zufaelligesFeld(leer, random);
+            }
+            return besteAktion;
+        }
+    }
+
+    /**
+     * Führt den Q-Learning-Update-Schritt durch.
+     *
+     * @param kontext Trainingskontext, das Spielfeld enthält s' (Zustand nach dem Zug).
+     * @param sIndex  Zustandsindex vor dem Zug.
+     * @param aktion  Die ausgeführte Aktion.
+     * @param r       Reward aus Sicht des Agenten.
+     */
+    void updateQ(TrainingsKontext kontext, int sIndex, int aktion, double r) {
+        QTabelle qTabelle = kontext.qTabelle;
+        BitSpielfeld s_prime = kontext.spielfeld;
+        int sPrimeIndex = s_prime.zustandsIndex();
+
+        // 1. Q(s, a)
+        double q_old = qTabelle.wert(sIndex, aktion);
+
+        // 2. max_a' Q(s', a') (Der höchste Q-Wert im Folgezustand)
+        double maxQ_sPrime;
+
+        // Prüfen, ob s' terminal ist (egal wer gewonnen hat / unentschieden)
+        boolean terminal = s_prime.istBeendet();
+        if (terminal) {
+            // Terminaler Zustand erreicht (Gewinn, Verlust oder Unentschieden): kein zukünftiger Wert
+            maxQ_sPrime = 0.0;
+        } else {
+            // Nicht-terminal: max über alle LEGALEN Aktionen aus s' (0.0, falls keine legal ist)
+            maxQ_sPrime = qTabelle.maxWert(sPrimeIndex);
+        }
+
+        // 3. Target-Berechnung: R + Gamma * max_a' Q(s', a')
+        double qTarget = r + belohnungen.gamma() * maxQ_sPrime;
+        // 4. Q-Update: Q(s, a) <- Q(s, a) + Alpha * [Q_Target - Q(s, a)]
+        qTabelle.setzeWert(sIndex, aktion, q_old + ALPHA * (qTarget - q_old));
+        kontext.zaehler.tdFehler(qTarget - q_old);
+        if (kontext.replay != null) {
+            kontext.replay.zeichneAuf(qTabelle, sIndex, aktion, r, sPrimeIndex, terminal);
+        }
+    }
+
+    // --- 2. Trainingslogik (ILernenderSpieler) ---
+
+    /**
+     * @param abbruchBedingung Abbruchbedingung für das Training
+     * @return true, wenn das Training erfolgreich abgeschlossen wurde
+     */
+    @Override
+    public boolean trainieren(IAbbruchbedingung abbruchBedingung) {
+        // 1. ZUERST Epsilon zurücksetzen, um neue Exploration zu erzwingen
+        //    (beim Fortsetzen eines Checkpoints geht es mit Epsilon und Rundenzähler weiter)
+        long rundenZaehler = beginneTraining(abbruchBedingung);
+        if (rundenZaehler == 0) {
+            this.epsilon = EPSILON_TRAINING_START;
+        }
+
+        // 2. Epsilon-Decay-Rate berechnen, die von 1.0 auf minEpsilon über die ersten epsilonDecayRunden Runden sinkt
+        double decayRate = Math.pow(minEpsilon / EPSILON_TRAINING_START, 1.0 / epsilonDecayRunden);
+        TrainingsKontext kontext = new TrainingsKontext(qTabelle, random);
+
+        while (!abbruchBedingung.abbruch()) {
+
+            // Wechselnde Startspieler (z.B. 100.000 als Kreuz, 100.000 als Kreis)
+            Farbe starterFarbe = (rundenZaehler % 2 == 0) ? Farbe.Kreuz : Farbe.Kreis;
+
+            kontext.epsilon = epsilon;
+            simuliereEinSpiel(starterFarbe, kontext);
+
+            // Epsilon nur während der Decay-Phase anpassen
+            if (rundenZaehler < epsilonDecayRunden && epsilon > minEpsilon) {
+                epsilon *= decayRate;
+            } else {
+                epsilon = minEpsilon; // Sicherstellen, dass Epsilon nicht unter minEpsilon fällt
+            }
+
+            if (rundenZaehler % 200_000 == 0) { // Ausgabe alle 20.000 Runden
+                System.out.printf("Runde %d. Epsilon: %.4f%n",
+                        rundenZaehler, epsilon);
+            }
+            rundenZaehler++;
+            this.runden = rundenZaehler;
+
+            if (checkpoint != null && rundenZaehler % CHECKPOINT_PRUEFINTERVALL == 0
+                    && checkpoint.faellig(rundenZaehler)) {
+                checkpoint.schreibe(qTabelle, epsilon, rundenZaehler);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Trainiert mit mehreren Threads auf derselben Q-Tabelle (siehe {@link ParallelesTraining}).
+     * Epsilon folgt derselben Kurve wie im sequentiellen Training, bezogen auf die globale
+     * Rundennummer.
+     *
+     * @param abbruchBedingung Abbruchbedingung für das Training, wird synchronisiert abgefragt
+     * @param anzahlThreads    Anzahl der Trainings-Threads
+     * @return true, wenn das Training erfolgreich abgeschlossen wurde
+     */
+    public boolean trainieren(IAbbruchbedingung abbruchBedingung, int anzahlThreads) {
+        long startRunde = beginneTraining(abbruchBedingung);
+        this.runden = ParallelesTraining.trainiere(abbruchBedingung, anzahlThreads, qTabelle, random.nextLong(),
+                startRunde, this::epsilonFuerRunde, this::sichereCheckpoint, this::simuliereEinSpiel);
+        this.epsilon = epsilonFuerRunde(runden);
+        return true;
+    }
+
+    /**
+     * Trainiert mit mehreren Shards, die jeweils eine private Kopie der Q-Tabelle lernen und
+     * regelmäßig zusammengeführt werden (siehe {@link ParallelesTraining#trainiereMitShards}).
+     *
+     * @param abbruchBedingung Abbruchbedingung für das Training
+     * @param anzahlShards     Anzahl der Shards (= Threads)
+     * @param mergeIntervall   Runden pro Shard zwischen zwei Zusammenführungen
+     * @param besuchsGewichtet true: nach Anzahl Updates gewichten, false: einfacher Mittelwert
+     * @return true, wenn das Training erfolgreich abgeschlossen wurde
+     */
+    public boolean trainierenMitShards(IAbbruchbedingung abbruchBedingung, int anzahlShards,
+                                       int mergeIntervall, boolean besuchsGewichtet) {
+        long startRunde = beginneTraining(abbruchBedingung);
+        this.runden = ParallelesTraining.trainiereMitShards(abbruchBedingung, anzahlShards, mergeIntervall,
+                besuchsGewichtet, qTabelle, random.nextLong(), startRunde, this::epsilonFuerRunde,
+                this::sichereCheckpoint, this::simuliereEinSpiel);
+        this.epsilon = epsilonFuerRunde(runden);
+        return true;
+    }
+
+    // Startrunde: nach ladeCheckpoint der gespeicherte Rundenzähler, sonst 0 (neue Exploration)
+    private long beginneTraining(IAbbruchbedingung abbruchBedingung) {
+        this.politik = null; // Q-Werte ändern sich, eingefrorene Politik verwerfen
+        metriken.beginne(qTabelle);
+        if (abbruchBedingung instanceof AbbruchNachKonvergenz konvergenz) {
+            konvergenz.beobachte(qTabelle);
+        }
+        if (checkpoint != null) {
+            checkpoint.beginne(qTabelle);
+        }
+        long startRunde = fortsetzen ? runden : 0;
+        this.fortsetzen = false;
+        return startRunde;
+    }
+
+    // Wird von den Trainings-Threads nach jedem Block aufgerufen
+    private void sichereCheckpoint(long runde) {
+        if (checkpoint != null && checkpoint.faellig(runde)) {
+            checkpoint.schreibe(qTabelle, epsilonFuerRunde(runde), runde);
+        }
+    }
+
+    // Epsilon-Kurve in geschlossener Form: von EPSILON_TRAINING_START auf minEpsilon in epsilonDecayRunden
+    private double epsilonFuerRunde(long runde) {
+        if (runde >= epsilonDecayRunden) {
+            return minEpsilon;
+        }
+        double epsilon = EPSILON_TRAINING_START * Math.pow(minEpsilon / EPSILON_TRAINING_START, runde / epsilonDecayRunden);
+        return Math.max(minEpsilon, epsilon);
+    }
+
+    /**
+     * Simuliert ein einzelnes Spiel für das Training.
+     *
+     * @param agentenStartFarbe Die Farbe des lernenden Spielers für dieses Spiel.
+     * @param kontext           Trainingskontext des aufrufenden Threads.
+     */
+    void simuliereEinSpiel(Farbe agentenStartFarbe, TrainingsKontext kontext) {
+        BitSpielfeld sAgent = kontext.spielfeld;
+        sAgent.leeren();
+        if (kontext.gegner == null) {
+            kontext.gegner = trainingsGegner != null ? trainingsGegner.apply(kontext.random)
+                    : standardGegner.apply(kontext.random);
+        }
+        if (replayKapazitaet > 0 && kontext.replay == null) {
+            kontext.replay = new ReplayPuffer(replayKapazitaet, replayStapel, replayPriorisiert);
+        }
+        ISpieler gegner = kontext.gegner;
+
+        Farbe agentenFarbe = agentenStartFarbe;
+        Farbe gegnerFarbe = agentenFarbe.opposite();
+
+        Farbe aktuelleFarbe = Farbe.Kreuz; // Kreuz beginnt immer
+        Zug letzterGegnerZug = null; // letzter zug im *realen* spiel
+
+        gegner.neuesSpiel(gegnerFarbe, 0);
+
+        boolean spielLaeuft = true;
+
+        while (spielLaeuft) {
+            Zug neuerZug;
+
+            if (aktuelleFarbe == agentenFarbe) {
+                // Agentzug
+                int sIndex = sAgent.zustandsIndex(); // Zustand s vor dem Zug
+                int aktion = waehleAktion(kontext);
+                neuerZug = BitSpielfeld.zug(aktion);
+                sAgent.setze(aktion, agentenFarbe);
+
+                // Reward *immer* aus Agentsicht
+                double reward = 0.0;
+                boolean spielEnde = false;
+
+                if (sAgent.hatGewonnen(agentenFarbe)) {
+                    reward = belohnungen.sieg();          // Agent gewinnt
+                    spielEnde = true;
+                } else if (sAgent.hatGewonnen(gegnerFarbe)) {
+                    reward = belohnungen.niederlage();    // Agent verliert
+                    spielEnde = true;
+                } else if (sAgent.istVoll()) {
+                    reward = belohnungen.unentschieden(); // Remis
+                    spielEnde = true;
+                }
+
+                updateQ(kontext, sIndex, aktion, reward);
+
+                letzterGegnerZug = neuerZug; // wichtig: letzterZug für die ISpieler-API des Gegners
+
+                if (spielEnde) {
+                    break;
+                }
+            } else {
+                // Gegnerzug
+                gegner.setFarbe(gegnerFarbe);
+                try {
+                    neuerZug = gegner.berechneZug(letzterGegnerZug, 0, 0);
+                } catch (IllegalerZugException e) {
+                    int aktionFallback = BitSpielfeld.zufaelligesFeld(sAgent.leereFelder(), kontext.random);
+                    neuerZug = BitSpielfeld.zug(aktionFallback);
+                }
+                int gegnerFeld = BitSpielfeld.feld(neuerZug);
+                if (!sAgent.istLeer(gegnerFeld)) {
+                    // Besetztes Feld würde den Zustandsindex verfälschen, also wie beim illegalen Zug
+                    gegnerFeld = BitSpielfeld.zufaelligesFeld(sAgent.leereFelder(), kontext.random);
+                    neuerZug = BitSpielfeld.zug(gegnerFeld);
+                }
+                sAgent.setze(gegnerFeld, gegnerFarbe);
+
+                letzterGegnerZug = neuerZug; // wieder für das nächste  berechneZug(...)
+
+                // Nach Gegnerzug nur prüfen, ob Spiel zu Ende ist,
+                // aber KEIN Q-Update (Agent hat gerade nicht gezogen)
+                if (sAgent.istBeendet()) {
+                    // Agent bekommt hier keinen Reward, weil sein letzter Zug schon upgedatet wurde.
+                    break;
+                }
+            }
+            aktuelleFarbe = aktuelleFarbe.opposite();
+        }
+        if (kontext.replay != null) {
+            kontext.replay.lerneStapel(kontext.qTabelle, ALPHA, belohnungen.gamma(), kontext.random);
+        }
+        metriken.episodeBeendet(kontext, agentenFarbe);
+    }
+
+    // --- 3. ISpieler Implementierung (für den Wettkampf) ---
+
+    /**
+     * Imitialisiert ein neues Spiel für den Lernenden Spieler.
+     *
+     * @param agentFarbe
+     * @param bedenkzeitInSekunden
+     */
+    @Override
+    public void neuesSpiel(Farbe agentFarbe, int bedenkzeitInSekunden) {
+        this.agentFarbe = agentFarbe;
+        this.internesSpielfeld = new BitSpielfeld();
+    }
+
+    /**
+     * @param vorherigerZug
+     * @param l
+     * @param l1
+     * @return
+     * @throws IllegalerZugException
+     */
+    @Override
+    public Zug berechneZug(Zug vorherigerZug, long l, long l1) throws IllegalerZugException {
+        // 1. Zug des Gegners auf unserem internen Spielfeld nachvollziehen
+        if (vorherigerZug != null) {
+            Farbe gegnerFarbe = agentFarbe.opposite();
+            internesSpielfeld.setze(BitSpielfeld.feld(vorherigerZug), gegnerFarbe);
+        }
+        // 2. Beste Aktion im aktuellen (realen) Zustand wählen (keine Exploration im Wettkampf)
+        int sIndex = internesSpielfeld.zustandsIndex();
+        int aktion = politik != null ? politik.aktion(sIndex) : qTabelle.besteAktion(sIndex);
+        if (aktion == -1) {
+            // Unbekannter Zustand: zufälliges leeres Feld
+            aktion = BitSpielfeld.zufaelligesFeld(internesSpielfeld.leereFelder(), random);
+        }
+
+        Zug neuerZug = BitSpielfeld.zug(aktion);
+
+        // 3. Zug auf unserem internen Spielfeld ausführen
+        internesSpielfeld.setze(aktion, agentFarbe);
+
+        return neuerZug;
+    }
+
+    // --- Weitere ISpieler Methoden ---
+    @Override
+    public void setName(String name) {
+        this.agentName = name;
+    }
+
+    @Override
+    public String getName() {
+        return agentName;
+    }
+
+    @Override
+    public void setFarbe(Farbe farbe) {
+        this.agentFarbe = farbe;
+    }
+
+    @Override
+    public Farbe getFarbe() {
+        return agentFarbe;
+    }
+
+    public void setEpsilon(double epsilon) {
+        this.epsilon = epsilon;
+    }
+
+    /**
+     * Setzt den Zufallsgenerator auf einen festen Startwert. Training (auch die Seeds der
+     * Trainings-Threads) und Wettkampf-Fallbacks sind danach reproduzierbar.
+     *
+     * @param seed Startwert.
+     */
+    public void setSeed(long seed) {
+        this.random = Zufall.erzeuge(seed);
+    }
+
+    /**
+     * Ersetzt den Gegner im Training, z.B. durch {@link MinimaxSpieler} für Training gegen
+     * perfektes Spiel. Die Fabrik wird je Trainings-Thread einmal mit dessen Zufallsgenerator
+     * aufgerufen.
+     *
+     * @param trainingsGegner Erzeugt den Gegner, null = Standardgegner.
+     */
+    public void setTrainingsGegner(Function<RandomGenerator, ? extends ISpieler> trainingsGegner) {
+        this.trainingsGegner = trainingsGegner;
+    }
+
+    /**
+     * Schaltet Experience Replay ein (siehe {@link ReplayPuffer}): jeder Trainings-Thread merkt
+     * sich seine letzten Übergänge und lernt nach jeder Episode zusätzlich aus einem Stapel davon.
+     *
+     * @param kapazitaet    Übergänge je Thread (auf eine Zweierpotenz aufgerundet), 0 = aus.
+     * @param stapelGroesse Übergänge je Stapel.
+     * @param priorisiert   true = nach TD-Fehler priorisiert ziehen, false = gleichverteilt.
+     */
+    public void setReplay(int kapazitaet, int stapelGroesse, boolean priorisiert) {
+        this.replayKapazitaet = kapazitaet;
+        this.replayStapel = stapelGroesse;
+        this.replayPriorisiert = priorisiert;
+    }
+
+    /**
+     * @param checkpoint Schreibt während des Trainings regelmäßig Checkpoints, null = keine.
+     */
+    public void setCheckpoint(CheckpointSchreiber checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * @return Trainierte Runden seit Beginn der Exploration (auch aus Checkpoints geladen).
+     */
+    public long getRunden() {
+        return runden;
+    }
+
+    // --- 4. Wissensspeicherung (ILernenderSpieler) ---
+
+    /**
+     * @param dateiPfad
+     * @throws IOException
+     */
+    @Override
+    public void speichereWissen(String dateiPfad) throws IOException {
+        // Q-Tabelle und Epsilon im Binärformat speichern
+        WissensDatei.schreibe(dateiPfad, this.qTabelle, this.epsilon, this.runden);
+        // Eingefrorene Politik daneben ablegen, damit der Wettkampf nur noch nachschlagen muss
+        WissensDatei.schreibePolitik(WissensDatei.politikPfad(dateiPfad), Politik.aus(this.qTabelle), this.qTabelle,
+                this.runden);
+        System.out.println("Q-Matrix gespeichert unter: " + dateiPfad);
+    }
+
+    /**
+     * Lädt einen mit {@link CheckpointSchreiber} geschriebenen Checkpoint. Das nächste Training
+     * startet die Exploration nicht neu, sondern setzt Epsilon-Kurve und Rundenzähler fort.
+     *
+     * @param dateiPfad Die Checkpoint-Datei.
+     * @throws IOException wenn die Datei fehlt oder beschädigt ist.
+     */
+    public void ladeCheckpoint(String dateiPfad) throws IOException {
+        ladeWissen(dateiPfad);
+        this.fortsetzen = true;
+        System.out.println("Training wird ab Runde " + runden + " fortgesetzt.");
+    }
+
+    /**
+     * Kompiliert die aktuelle Q-Tabelle in eine {@link Politik}; {@code berechneZug} schlägt den
+     * Zug danach nur noch nach. Das nächste Training verwirft die Politik wieder.
+     */
+    public void friereEin() {
+        this.politik = Politik.aus(this.qTabelle);
+    }
+
+    /**
+     * @return Ein unabhängiger Wettkampfspieler mit dem aktuellen Wissen (eingefrorene Politik),
+     * z.B. für die parallele {@link Evaluierung} mit einem Spieler je Thread.
+     */
+    public ISpieler wettkampfSpieler() {
+        return new PolitikSpieler(agentName, getPolitik());
+    }
+
+    /**
+     * @return Die eingefrorene Politik oder, falls keine existiert, eine frisch aus der
+     * Q-Tabelle kompilierte (z.B. für die {@link ExakteEvaluierung}).
+     */
+    public Politik getPolitik() {
+        return politik != null ? politik : Politik.aus(qTabelle);
+    }
+
+    /**
+     * @return Kennzahlen des laufenden bzw. letzten Trainings (Episoden/s, Ergebnisquoten,
+     * TD-Fehler, Abdeckung, Allokation); auch während des Trainings lesbar.
+     */
+    public TrainingsMetriken getMetriken() {
+        return metriken;
+    }
+
+    // Für die JMH-Benchmarks im selben Paket (src/jmh/java)
+    QTabelle qTabelle() {
+        return qTabelle;
+    }
+
+    /**
+     * Exportiert die gelernte Q-Tabelle quantisiert (int8 je Zeile skaliert) für den
+     * {@link QuantisierterSpieler}. Vor dem Schreiben wird geprüft, dass die quantisierte
+     * Tabelle in jedem Zustand denselben Zug wählt.
+     *
+     * @param dateiPfad Zieldatei.
+     * @throws IOException bei Schreibfehlern.
+     */
+    public void speichereQuantisiert(String dateiPfad) throws IOException {
+        WissensDatei.schreibeQuantisiert(dateiPfad, QuantisierteQTabelle.aus(this.qTabelle));
+        System.out.println("Quantisierte Q-Matrix gespeichert unter: " + dateiPfad);
+    }
+
+    /**
+     * @param dateiPfad
+     * @throws IOException
+     */
+    @Override
+    public void ladeWissen(String dateiPfad) throws IOException {
+        // Binärformat (memory-mapped) oder altes ObjectOutputStream-Format
+        WissensDatei.Inhalt inhalt = WissensDatei.lade(dateiPfad);
+        this.qTabelle = inhalt.qTabelle();
+        this.epsilon = inhalt.epsilon();
+        this.runden = inhalt.runden();
+        // Politik verwenden, wenn sie neben der Wissensdatei liegt und aus genau dieser Tabelle stammt
+        this.politik = WissensDatei.ladePolitik(WissensDatei.politikPfad(dateiPfad), this.qTabelle, this.runden);
+        System.out.println("Q-Matrix erfolgreich geladen. Epsilon: " + this.epsilon);
+    }
+}
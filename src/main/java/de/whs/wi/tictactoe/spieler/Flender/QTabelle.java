@@ -0,0 +1,344 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Kompakte Q-Tabelle: alle Q-Werte liegen zusammenhängend in einem {@code double[]}.
+ * Gespeichert werden nur erreichbare Zustände und je Zustand nur die legalen Aktionen
+ * (siehe {@link ZustandsRaum}); Argmax und Max laufen dadurch linear über eine kurze,
+ * zusammenhängende Zeile.
+ * <p>
+ * Mit Symmetrie-Reduktion werden alle 8 Drehungen/Spiegelungen eines Zustands auf ihren
+ * kanonischen Vertreter abgebildet und teilen sich eine Zeile; Aktionen werden dabei
+ * hin- und zurücktransformiert. Die Aufrufer arbeiten in beiden Fällen mit dem
+ * ursprünglichen Zustandsindex und den ursprünglichen Aktionen.
+ */
+public final class QTabelle {
+    public static final int ANZAHL_AKTIONEN = 9; // 3x3 Spielfeld
+
+    private final ZustandsRaum raum;
+    private final boolean symmetrisch;
+    private final double[] werte;
+    private int[] besuche; // Anzahl Updates je Q-Wert, nur beim Shard-Training (sonst null)
+    // je Zeile 1, wenn seit dem letzten Checkpoint geschrieben; nur bei Delta-Checkpoints (sonst null).
+    // byte statt Bit, damit gleichzeitige Markierungen verschiedener Zeilen sich nicht überschreiben.
+    private byte[] geaendert;
+
+    /**
+     * Geänderte Zeilen für einen Delta-Checkpoint: Zeilennummern und deren Q-Werte hintereinander.
+     */
+    record GeaenderteZeilen(int[] zeilen, double[] werte) {
+    }
+
+    public QTabelle() {
+        this(false);
+    }
+
+    /**
+     * @param symmetrieReduktion true, um symmetrische Zustände zusammenzufassen.
+     */
+    public QTabelle(boolean symmetrieReduktion) {
+        this(symmetrieReduktion ? ZustandsRaum.KANONISCH : ZustandsRaum.VOLL);
+    }
+
+    private QTabelle(ZustandsRaum raum) {
+        // Die Q-Werte werden von Java standardmäßig mit 0.0 initialisiert
+        this(raum, new double[raum.anzahlWerte()]);
+    }
+
+    private QTabelle(ZustandsRaum raum, double[] werte) {
+        this.raum = raum;
+        this.symmetrisch = raum == ZustandsRaum.KANONISCH;
+        this.werte = werte;
+    }
+
+    public boolean istSymmetrisch() {
+        return symmetrisch;
+    }
+
+    /**
+     * @param zustand Ternärer Zustandsindex.
+     * @param aktion  Im Zustand legale Aktion.
+     * @return Q(s, a), 0.0 für nicht erreichbare Zustände.
+     */
+    public double wert(int zustand, int aktion) {
+        if (symmetrisch) {
+            aktion = Symmetrie.abbilden(Symmetrie.transformation(zustand), aktion);
+            zustand = Symmetrie.kanonisch(zustand);
+        }
+        int zeile = raum.zeile(zustand);
+        return zeile < 0 ? 0.0 : werte[raum.position(zeile, aktion)];
+    }
+
+    /**
+     * Setzt Q(s, a). Nicht erreichbare Zustände werden ignoriert.
+     *
+     * @param zustand Ternärer Zustandsindex.
+     * @param aktion  Im Zustand legale Aktion.
+     * @param wert    Der neue Q-Wert.
+     */
+    public void setzeWert(int zustand, int aktion, double wert) {
+        if (symmetrisch) {
+            aktion = Symmetrie.abbilden(Symmetrie.transformation(zustand), aktion);
+            zustand = Symmetrie.kanonisch(zustand);
+        }
+        int zeile = raum.zeile(zustand);
+        if (zeile >= 0) {
+            int position = raum.position(zeile, aktion);
+            werte[position] = wert;
+            if (besuche != null) {
+                besuche[position]++;
+            }
+            if (geaendert != null) {
+                geaendert[zeile] = 1;
+            }
+        }
+    }
+
+    /**
+     * Sucht die legale Aktion mit dem höchsten Q-Wert. Bei Gleichstand gewinnt die
+     * kleinste Aktion.
+     *
+     * @param zustand Ternärer Zustandsindex.
+     * @return Die beste Aktion oder -1, wenn der Zustand unbekannt ist oder keine Aktion legal ist.
+     */
+    public int besteAktion(int zustand) {
+        if (symmetrisch) {
+            int aktion = besteAktionInZeile(raum.zeile(Symmetrie.kanonisch(zustand)));
+            return aktion < 0 ? -1 : Symmetrie.zurueckAbbilden(Symmetrie.transformation(zustand), aktion);
+        }
+        return besteAktionInZeile(raum.zeile(zustand));
+    }
+
+    private int besteAktionInZeile(int zeile) {
+        if (zeile < 0) {
+            return -1;
+        }
+        int position = raum.start(zeile);
+        int besteAktion = -1;
+        double maxQ = -Double.MAX_VALUE;
+        for (int maske = raum.legaleAktionen(zeile); maske != 0; maske &= maske - 1) {
+            double q = werte[position++];
+            if (q > maxQ) {
+                maxQ = q;
+                besteAktion = Integer.numberOfTrailingZeros(maske);
+            }
+        }
+        return besteAktion;
+    }
+
+    /**
+     * @param zustand Ternärer Zustandsindex.
+     * @return Zeile des Zustands im Raum der Tabelle (bei Symmetrie-Reduktion die des kanonischen
+     * Vertreters), -1 wenn nicht erreichbar; für {@link StapelAuswertung}.
+     */
+    int zeile(int zustand) {
+        return raum.zeile(symmetrisch ? Symmetrie.kanonisch(zustand) : zustand);
+    }
+
+    /**
+     * @param zustand Ternärer Zustandsindex.
+     * @return max_a Q(s, a) über alle legalen Aktionen, 0.0 wenn keine Aktion legal ist.
+     */
+    public double maxWert(int zustand) {
+        int zeile = raum.zeile(symmetrisch ? Symmetrie.kanonisch(zustand) : zustand);
+        if (zeile < 0) {
+            return 0.0;
+        }
+        int von = raum.start(zeile);
+        int bis = raum.start(zeile + 1);
+        if (von == bis) {
+            return 0.0;
+        }
+        double maxQ = -Double.MAX_VALUE;
+        for (int i = von; i < bis; i++) {
+            maxQ = Math.max(maxQ, werte[i]);
+        }
+        return maxQ;
+    }
+
+    // --- Kopien und Zusammenführung (Shard-Training) ---
+
+    /**
+     * @return Eine unabhängige Kopie mit gleichem Layout und gleichen Werten.
+     */
+    public QTabelle kopie() {
+        return new QTabelle(raum, werte.clone());
+    }
+
+    /**
+     * @return Diese Tabelle; bei Symmetrie-Reduktion eine Kopie, in der jeder erreichbare Zustand
+     * eine eigene Zeile mit den Werten seines kanonischen Vertreters hat.
+     */
+    QTabelle imVollenRaum() {
+        if (!symmetrisch) {
+            return this;
+        }
+        ZustandsRaum voll = ZustandsRaum.VOLL;
+        QTabelle tabelle = new QTabelle(voll);
+        for (int zeile = 0; zeile < voll.anzahlZeilen(); zeile++) {
+            int zustand = voll.zustand(zeile);
+            for (int legal = voll.legaleAktionen(zeile); legal != 0; legal &= legal - 1) {
+                int aktion = Integer.numberOfTrailingZeros(legal);
+                tabelle.setzeWert(zustand, aktion, wert(zustand, aktion));
+            }
+        }
+        return tabelle;
+    }
+
+    /**
+     * Schaltet das Zählen der Updates je Q-Wert ein (für die besuchsgewichtete Zusammenführung).
+     */
+    void zaehleBesuche() {
+        besuche = new int[werte.length];
+    }
+
+    /**
+     * Überschreibt alle Werte mit denen der Quelle (gleiches Layout vorausgesetzt).
+     */
+    void uebernehme(QTabelle quelle) {
+        System.arraycopy(quelle.werte, 0, werte, 0, werte.length);
+    }
+
+    /**
+     * Führt die Shards in diese (Master-)Tabelle zusammen. Jeder Shard ist seit der letzten
+     * Zusammenführung eine Kopie des Masters; übernommen wird die mittlere Änderung aller
+     * Shards, bei {@code besuchsGewichtet} gewichtet mit der Anzahl der Updates je Q-Wert.
+     * Danach werden die Shards wieder auf den neuen Master gesetzt.
+     *
+     * @param shards           Die Shard-Tabellen.
+     * @param besuchsGewichtet true für Gewichtung nach Updates, false für einfachen Mittelwert.
+     */
+    void fuehreZusammen(QTabelle[] shards, boolean besuchsGewichtet) {
+        for (int zeile = 0; zeile < raum.anzahlZeilen(); zeile++) {
+            for (int i = raum.start(zeile); i < raum.start(zeile + 1); i++) {
+                double alt = werte[i];
+                double summe = 0.0;
+                double gewichte = 0.0;
+                for (QTabelle shard : shards) {
+                    double gewicht = besuchsGewichtet ? shard.besuche[i] : 1.0;
+                    summe += gewicht * (shard.werte[i] - alt);
+                    gewichte += gewicht;
+                }
+                if (gewichte > 0.0) {
+                    werte[i] = alt + summe / gewichte;
+                }
+                if (geaendert != null && werte[i] != alt) {
+                    geaendert[zeile] = 1;
+                }
+            }
+        }
+        for (QTabelle shard : shards) {
+            shard.uebernehme(this);
+            if (shard.besuche != null) {
+                Arrays.fill(shard.besuche, 0);
+            }
+        }
+    }
+
+    // --- Änderungsverfolgung (Delta-Checkpoints) ---
+
+    /**
+     * Schaltet die Markierung geänderter Zeilen ein; danach gilt die ganze Tabelle als gesichert.
+     */
+    void verfolgeAenderungen() {
+        geaendert = new byte[raum.anzahlZeilen()];
+    }
+
+    boolean verfolgtAenderungen() {
+        return geaendert != null;
+    }
+
+    /**
+     * Markiert alle Zeilen als gesichert (nach einem vollständigen Checkpoint).
+     */
+    void verwerfeAenderungen() {
+        Arrays.fill(geaendert, (byte) 0);
+    }
+
+    /**
+     * Kopiert alle seit dem letzten Aufruf geänderten Zeilen und setzt deren Markierung zurück.
+     * Die Markierung wird vor dem Kopieren gelöscht: ein gleichzeitiges Update landet also
+     * entweder in dieser Kopie oder markiert die Zeile erneut für den nächsten Checkpoint.
+     *
+     * @return Die geänderten Zeilen mit ihren aktuellen Q-Werten.
+     */
+    GeaenderteZeilen entnehmeAenderungen() {
+        int anzahl = 0;
+        int anzahlWerte = 0;
+        int[] zeilen = new int[geaendert.length];
+        for (int zeile = 0; zeile < geaendert.length; zeile++) {
+            if (geaendert[zeile] != 0) {
+                zeilen[anzahl++] = zeile;
+                anzahlWerte += raum.start(zeile + 1) - raum.start(zeile);
+            }
+        }
+        double[] kopie = new double[anzahlWerte];
+        int ziel = 0;
+        for (int i = 0; i < anzahl; i++) {
+            int zeile = zeilen[i];
+            geaendert[zeile] = 0;
+            int laenge = raum.start(zeile + 1) - raum.start(zeile);
+            System.arraycopy(werte, raum.start(zeile), kopie, ziel, laenge);
+            ziel += laenge;
+        }
+        return new GeaenderteZeilen(Arrays.copyOf(zeilen, anzahl), kopie);
+    }
+
+    // --- Speicherung ---
+
+    ZustandsRaum raum() {
+        return raum;
+    }
+
+    double[] werte() {
+        return werte;
+    }
+
+    static QTabelle aus(ZustandsRaum raum, double[] werte) {
+        return new QTabelle(raum, werte);
+    }
+
+    /**
+     * Erzeugt die Tabelle aus einem im alten ObjectOutputStream-Format gespeicherten Objekt.
+     * Das kompakte Format wird mit und ohne Symmetrie-Reduktion erkannt (an der Länge), außerdem werden die alten Formate
+     * {@code double[19683][9]} und {@code double[19683 * 9]} gelesen, dabei werden nur die
+     * erreichbaren Zustände übernommen.
+     *
+     * @param objekt Das aus der Wissensdatei gelesene Objekt.
+     * @return Die Q-Tabelle.
+     * @throws IOException wenn das Format nicht passt.
+     */
+    static QTabelle ausGespeichertemObjekt(Object objekt) throws IOException {
+        ZustandsRaum raum = ZustandsRaum.VOLL;
+        if (objekt instanceof double[] kompakt && kompakt.length == raum.anzahlWerte()) {
+            return new QTabelle(raum, kompakt);
+        }
+        if (objekt instanceof double[] kompakt && kompakt.length == ZustandsRaum.KANONISCH.anzahlWerte()) {
+            return new QTabelle(ZustandsRaum.KANONISCH, kompakt);
+        }
+        QTabelle tabelle = new QTabelle();
+        if (objekt instanceof double[][] matrix && matrix.length == ZustandsRaum.ANZAHL_ZUSTAENDE) {
+            for (int zeile = 0; zeile < raum.anzahlZeilen(); zeile++) {
+                double[] zeilenWerte = matrix[raum.zustand(zeile)];
+                int position = raum.start(zeile);
+                for (int maske = raum.legaleAktionen(zeile); maske != 0; maske &= maske - 1) {
+                    tabelle.werte[position++] = zeilenWerte[Integer.numberOfTrailingZeros(maske)];
+                }
+            }
+            return tabelle;
+        }
+        if (objekt instanceof double[] flach && flach.length == ZustandsRaum.ANZAHL_ZUSTAENDE * ANZAHL_AKTIONEN) {
+            for (int zeile = 0; zeile < raum.anzahlZeilen(); zeile++) {
+                int basis = raum.zustand(zeile) * ANZAHL_AKTIONEN;
+                int position = raum.start(zeile);
+                for (int maske = raum.legaleAktionen(zeile); maske != 0; maske &= maske - 1) {
+                    tabelle.werte[position++] = flach[basis + Integer.numberOfTrailingZeros(maske)];
+                }
+            }
+            return tabelle;
+        }
+        throw new IOException("Unbekanntes Format der Q-Matrix");
+    }
+}
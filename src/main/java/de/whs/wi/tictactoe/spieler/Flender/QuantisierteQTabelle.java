@@ -0,0 +1,168 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+/**
+ * Quantisierte, nur lesbare Q-Tabelle für den Wettkampf.
+ * <p>
+ * Je Zeile (siehe {@link ZustandsRaum}) werden die Q-Werte affin auf 0-255 abgebildet und als
+ * {@code byte} gespeichert; Minimum und Schrittweite der Zeile liegen als float16 daneben.
+ * Der größte Wert einer Zeile bekommt immer den Code 255, alle kleineren Werte höchstens 254.
+ * Da die Abbildung monoton ist, liefert {@link #besteAktion(int)} (erste Aktion mit dem
+ * größten Code) exakt dieselbe Aktion wie {@link QTabelle#besteAktion(int)}.
+ */
+public final class QuantisierteQTabelle {
+    private static final int MAX_CODE = 255;
+
+    private final ZustandsRaum raum;
+    private final boolean symmetrisch;
+    private final byte[] codes;     // je legaler Aktion, vorzeichenlos 0-255
+    private final short[] minimum;  // je Zeile, float16
+    private final short[] schritt;  // je Zeile, float16
+
+    QuantisierteQTabelle(ZustandsRaum raum, byte[] codes, short[] minimum, short[] schritt) {
+        this.raum = raum;
+        this.symmetrisch = raum == ZustandsRaum.KANONISCH;
+        this.codes = codes;
+        this.minimum = minimum;
+        this.schritt = schritt;
+    }
+
+    /**
+     * Quantisiert die Tabelle und prüft anschließend für jeden erreichbaren Zustand, dass
+     * die gierige Aktion unverändert ist.
+     *
+     * @param quelle Die gelernte Q-Tabelle.
+     * @return Die quantisierte Tabelle.
+     * @throws IllegalStateException wenn die Prüfung fehlschlägt.
+     */
+    public static QuantisierteQTabelle aus(QTabelle quelle) {
+        ZustandsRaum raum = quelle.raum();
+        double[] werte = quelle.werte();
+        byte[] codes = new byte[werte.length];
+        short[] minimum = new short[raum.anzahlZeilen()];
+        short[] schritt = new short[raum.anzahlZeilen()];
+
+        for (int zeile = 0; zeile < raum.anzahlZeilen(); zeile++) {
+            int von = raum.start(zeile);
+            int bis = raum.start(zeile + 1);
+            if (von == bis) {
+                continue; // Endzustand
+            }
+            double min = Double.MAX_VALUE;
+            double max = -Double.MAX_VALUE;
+            for (int i = von; i < bis; i++) {
+                min = Math.min(min, werte[i]);
+                max = Math.max(max, werte[i]);
+            }
+            double breite = (max - min) / MAX_CODE;
+            minimum[zeile] = Float.floatToFloat16((float) min);
+            schritt[zeile] = Float.floatToFloat16((float) breite);
+            for (int i = von; i < bis; i++) {
+                int code;
+                if (werte[i] == max) {
+                    code = MAX_CODE;
+                } else {
+                    // Nur der Maximalwert darf 255 bekommen, sonst könnte sich das Argmax verschieben
+                    code = (int) Math.min(MAX_CODE - 1, Math.round((werte[i] - min) / breite));
+                }
+                codes[i] = (byte) code;
+            }
+        }
+
+        QuantisierteQTabelle tabelle = new QuantisierteQTabelle(raum, codes, minimum, schritt);
+        tabelle.pruefeGleicheZuege(quelle);
+        return tabelle;
+    }
+
+    /**
+     * Vergleicht für alle erreichbaren Zustände die gierige Aktion mit der Referenztabelle.
+     *
+     * @param referenz Die Q-Tabelle in voller Genauigkeit (gleiches Layout).
+     * @throws IllegalStateException beim ersten abweichenden Zustand.
+     */
+    public void pruefeGleicheZuege(QTabelle referenz) {
+        if (referenz.raum() != raum) {
+            throw new IllegalStateException("Layout der Referenztabelle passt nicht");
+        }
+        int[] zeilen = new int[raum.anzahlZeilen()];
+        for (int zeile = 0; zeile < zeilen.length; zeile++) {
+            zeilen[zeile] = zeile;
+        }
+        int[] erwartet = new int[zeilen.length];
+        StapelAuswertung.besteAktionen(referenz, zeilen, zeilen.length, erwartet);
+        for (int zeile = 0; zeile < zeilen.length; zeile++) {
+            if (besteAktionInZeile(zeile) != erwartet[zeile]) {
+                throw new IllegalStateException("Quantisierte Tabelle wählt in Zustand " + raum.zustand(zeile)
+                        + " einen anderen Zug");
+            }
+        }
+    }
+
+    public boolean istSymmetrisch() {
+        return symmetrisch;
+    }
+
+    /**
+     * @param zustand Ternärer Zustandsindex.
+     * @return Die beste Aktion oder -1, wenn der Zustand unbekannt ist oder keine Aktion legal ist.
+     */
+    public int besteAktion(int zustand) {
+        if (symmetrisch) {
+            int aktion = besteAktionInZeile(raum.zeile(Symmetrie.kanonisch(zustand)));
+            return aktion < 0 ? -1 : Symmetrie.zurueckAbbilden(Symmetrie.transformation(zustand), aktion);
+        }
+        return besteAktionInZeile(raum.zeile(zustand));
+    }
+
+    private int besteAktionInZeile(int zeile) {
+        if (zeile < 0) {
+            return -1;
+        }
+        int position = raum.start(zeile);
+        int besteAktion = -1;
+        int maxCode = -1;
+        for (int maske = raum.legaleAktionen(zeile); maske != 0; maske &= maske - 1) {
+            int code = codes[position++] & 0xFF;
+            if (code > maxCode) {
+                maxCode = code;
+                besteAktion = Integer.numberOfTrailingZeros(maske);
+            }
+        }
+        return besteAktion;
+    }
+
+    /**
+     * @param zustand Ternärer Zustandsindex.
+     * @param aktion  Im Zustand legale Aktion.
+     * @return Näherung von Q(s, a), 0.0 für nicht erreichbare Zustände.
+     */
+    public double wert(int zustand, int aktion) {
+        if (symmetrisch) {
+            aktion = Symmetrie.abbilden(Symmetrie.transformation(zustand), aktion);
+            zustand = Symmetrie.kanonisch(zustand);
+        }
+        int zeile = raum.zeile(zustand);
+        if (zeile < 0) {
+            return 0.0;
+        }
+        int code = codes[raum.position(zeile, aktion)] & 0xFF;
+        return Float.float16ToFloat(minimum[zeile]) + code * (double) Float.float16ToFloat(schritt[zeile]);
+    }
+
+    // --- Speicherung ---
+
+    ZustandsRaum raum() {
+        return raum;
+    }
+
+    byte[] codes() {
+        return codes;
+    }
+
+    short[] minimum() {
+        return minimum;
+    }
+
+    short[] schritt() {
+        return schritt;
+    }
+}
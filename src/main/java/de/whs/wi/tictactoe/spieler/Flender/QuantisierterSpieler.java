@@ -0,0 +1,60 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import tictactoe.Farbe;
+import tictactoe.Zug;
+import tictactoe.spieler.ISpieler;
+
+import java.io.IOException;
+import java.util.random.RandomGenerator;
+
+/**
+ * Reiner Wettkampfspieler auf einer {@link QuantisierteQTabelle}: spielt immer gierig und
+ * zieht dieselben Züge wie der Q-Learning-Spieler, aus dem die Tabelle exportiert wurde.
+ */
+public class QuantisierterSpieler implements ISpieler {
+
+    private String name;
+    private Farbe farbe;
+    private final QuantisierteQTabelle qTabelle;
+    private final BitSpielfeld spielfeld = new BitSpielfeld();
+    private final RandomGenerator random = Zufall.erzeuge();
+
+    public QuantisierterSpieler(String name, QuantisierteQTabelle qTabelle) {
+        this.name = name;
+        this.qTabelle = qTabelle;
+    }
+
+    /**
+     * @param name      Name des Spielers.
+     * @param dateiPfad Mit {@code speichereQuantisiert} exportierte Datei.
+     * @throws IOException wenn die Datei fehlt oder beschädigt ist.
+     */
+    public QuantisierterSpieler(String name, String dateiPfad) throws IOException {
+        this(name, WissensDatei.ladeQuantisiert(dateiPfad));
+    }
+
+    @Override
+    public void neuesSpiel(Farbe farbe, int bedenkzeitInSekunden) {
+        this.farbe = farbe;
+        this.spielfeld.leeren();
+    }
+
+    @Override
+    public Zug berechneZug(Zug vorherigerZug, long zeitKreis, long zeitKreuz) {
+        if (vorherigerZug != null) {
+            spielfeld.setze(BitSpielfeld.feld(vorherigerZug), farbe.opposite());
+        }
+        int feld = qTabelle.besteAktion(spielfeld.zustandsIndex());
+        if (feld == -1) {
+            // Unbekannter Zustand: zufälliges leeres Feld
+            feld = BitSpielfeld.zufaelligesFeld(spielfeld.leereFelder(), random);
+        }
+        spielfeld.setze(feld, farbe);
+        return BitSpielfeld.zug(feld);
+    }
+
+    @Override public void setName(String name) { this.name = name; }
+    @Override public String getName() { return name; }
+    @Override public void setFarbe(Farbe farbe) { this.farbe = farbe; }
+    @Override public Farbe getFarbe() { return farbe; }
+}
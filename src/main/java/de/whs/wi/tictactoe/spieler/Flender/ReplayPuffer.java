@@ -0,0 +1,175 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Ringpuffer der letzten Übergänge (s, a, r, s', Ende) eines Trainings-Threads für Experience
+ * Replay: jeder Übergang wird nicht nur einmal im Spiel gelernt, sondern später erneut.
+ * <p>
+ * Die Übergänge liegen spaltenweise in vorab angelegten Arrays primitiver Typen, Aufzeichnen und
+ * Lernen erzeugen keine Objekte. Gelernt wird stapelweise: die Maxima der Folgezustände werden
+ * für den ganzen Stapel auf einmal mit {@link StapelAuswertung#maxWerte} berechnet (Stand vor
+ * dem Stapel), dann werden die Q-Werte nacheinander aktualisiert.
+ * <p>
+ * Gleichverteilt wird aus allen belegten Plätzen gezogen. Priorisiert wird proportional zu
+ * (|TD-Fehler| + PRIORITAET_MIN)^PRIORITAET_ALPHA über einen Summenbaum gezogen (geschichtet, ein
+ * Zug je Abschnitt); neue Übergänge bekommen die bisher höchste Priorität, die Verzerrung
+ * gleichen Importance-Sampling-Gewichte aus (auf das größte Gewicht im Stapel normiert).
+ */
+final class ReplayPuffer {
+    private static final double PRIORITAET_ALPHA = 0.6; // 0 = gleichverteilt, 1 = voll proportional
+    private static final double PRIORITAET_MIN = 1e-3;  // auch Übergänge ohne TD-Fehler bleiben ziehbar
+    private static final double BETA = 0.4;             // Stärke der Importance-Sampling-Korrektur
+
+    // Übergänge, je Spalte ein Array
+    private final int kapazitaet; // Zweierpotenz
+    private final int[] zustaende;
+    private final byte[] aktionen;
+    private final double[] rewards;
+    private final int[] folgeZeilen; // s' als Zeile in der Q-Tabelle, direkt für StapelAuswertung
+    private final boolean[] endzustaende;
+    private int position;
+    private int belegt;
+
+    // Summenbaum der Prioritäten: baum[1] = Summe, Blätter ab baum[kapazitaet]; null = gleichverteilt
+    private final double[] baum;
+    private double maxPrioritaet = 1.0;
+
+    // Arbeitsspeicher eines Stapels
+    private final int[] stichprobe;
+    private final int[] zeilen;
+    private final double[] maxWerte;
+    private final double[] gewichte;
+
+    /**
+     * @param kapazitaet    Anzahl Übergänge, wird auf eine Zweierpotenz aufgerundet.
+     * @param stapelGroesse Übergänge je Stapel.
+     * @param priorisiert   true = nach TD-Fehler priorisiert, false = gleichverteilt ziehen.
+     */
+    ReplayPuffer(int kapazitaet, int stapelGroesse, boolean priorisiert) {
+        if (kapazitaet <= 0 || stapelGroesse <= 0) {
+            throw new IllegalArgumentException("Kapazität und Stapelgröße müssen positiv sein");
+        }
+        int zweierPotenz = Integer.highestOneBit(kapazitaet);
+        this.kapazitaet = zweierPotenz < kapazitaet ? zweierPotenz << 1 : zweierPotenz;
+        this.zustaende = new int[this.kapazitaet];
+        this.aktionen = new byte[this.kapazitaet];
+        this.rewards = new double[this.kapazitaet];
+        this.folgeZeilen = new int[this.kapazitaet];
+        this.endzustaende = new boolean[this.kapazitaet];
+        this.baum = priorisiert ? new double[2 * this.kapazitaet] : null;
+        this.stichprobe = new int[stapelGroesse];
+        this.zeilen = new int[stapelGroesse];
+        this.maxWerte = new double[stapelGroesse];
+        this.gewichte = new double[stapelGroesse];
+    }
+
+    /**
+     * Merkt sich einen Übergang und überschreibt dabei den ältesten, wenn der Puffer voll ist.
+     *
+     * @param qTabelle     Die trainierte Q-Tabelle (für die Zeile von s').
+     * @param zustand      Zustandsindex vor dem Zug.
+     * @param aktion       Die ausgeführte Aktion.
+     * @param reward       Reward aus Sicht des Agenten.
+     * @param folgeZustand Zustandsindex nach dem Zug.
+     * @param ende         true, wenn s' ein Endzustand ist (kein zukünftiger Wert).
+     */
+    void zeichneAuf(QTabelle qTabelle, int zustand, int aktion, double reward, int folgeZustand, boolean ende) {
+        int i = position;
+        zustaende[i] = zustand;
+        aktionen[i] = (byte) aktion;
+        rewards[i] = reward;
+        folgeZeilen[i] = ende ? -1 : qTabelle.zeile(folgeZustand);
+        endzustaende[i] = ende;
+        if (baum != null) {
+            setzePrioritaet(i, maxPrioritaet);
+        }
+        position = (i + 1) & (kapazitaet - 1);
+        belegt = Math.min(belegt + 1, kapazitaet);
+    }
+
+    /**
+     * Lernt aus einem gezogenen Stapel von Übergängen; solange der Puffer weniger Übergänge als
+     * einen Stapel enthält, passiert nichts.
+     *
+     * @param qTabelle Die trainierte Q-Tabelle.
+     * @param alpha    Lernrate.
+     * @param gamma    Diskontfaktor.
+     * @param random   Zufallsgenerator des Trainings-Threads.
+     */
+    void lerneStapel(QTabelle qTabelle, double alpha, double gamma, RandomGenerator random) {
+        int anzahl = stichprobe.length;
+        if (belegt < anzahl) {
+            return;
+        }
+        ziehe(anzahl, random);
+        for (int i = 0; i < anzahl; i++) {
+            zeilen[i] = Math.max(0, folgeZeilen[stichprobe[i]]); // Endzustände: Platzhalter, Wert wird nicht gelesen
+        }
+        StapelAuswertung.maxWerte(qTabelle, zeilen, anzahl, maxWerte);
+
+        for (int i = 0; i < anzahl; i++) {
+            int j = stichprobe[i];
+            int zustand = zustaende[j];
+            int aktion = aktionen[j];
+            double qAlt = qTabelle.wert(zustand, aktion);
+            double qTarget = rewards[j] + (endzustaende[j] ? 0.0 : gamma * maxWerte[i]);
+            double tdFehler = qTarget - qAlt;
+            qTabelle.setzeWert(zustand, aktion, qAlt + alpha * gewichte[i] * tdFehler);
+            if (baum != null) {
+                double prioritaet = Math.pow(Math.abs(tdFehler) + PRIORITAET_MIN, PRIORITAET_ALPHA);
+                maxPrioritaet = Math.max(maxPrioritaet, prioritaet);
+                setzePrioritaet(j, prioritaet);
+            }
+        }
+    }
+
+    // Füllt stichprobe und gewichte
+    private void ziehe(int anzahl, RandomGenerator random) {
+        if (baum == null) {
+            for (int i = 0; i < anzahl; i++) {
+                stichprobe[i] = random.nextInt(belegt);
+                gewichte[i] = 1.0;
+            }
+            return;
+        }
+        double summe = baum[1];
+        double abschnitt = summe / anzahl;
+        double maxGewicht = 0.0;
+        for (int i = 0; i < anzahl; i++) {
+            int j = suche((i + random.nextDouble()) * abschnitt);
+            stichprobe[i] = j;
+            double gewicht = Math.pow(belegt * baum[kapazitaet + j] / summe, -BETA);
+            gewichte[i] = gewicht;
+            maxGewicht = Math.max(maxGewicht, gewicht);
+        }
+        for (int i = 0; i < anzahl; i++) {
+            gewichte[i] /= maxGewicht;
+        }
+    }
+
+    // Blatt, in dessen Abschnitt der kumulierten Prioritäten der Wert fällt
+    private int suche(double wert) {
+        int knoten = 1;
+        while (knoten < kapazitaet) {
+            int links = 2 * knoten;
+            if (wert < baum[links]) {
+                knoten = links;
+            } else {
+                wert -= baum[links];
+                knoten = links + 1;
+            }
+        }
+        // Rundungsfehler können hinter den belegten Bereich führen
+        return Math.min(knoten - kapazitaet, belegt - 1);
+    }
+
+    // Setzt ein Blatt und summiert den Pfad zur Wurzel neu (kein Aufsummieren von Rundungsfehlern)
+    private void setzePrioritaet(int platz, double prioritaet) {
+        int knoten = kapazitaet + platz;
+        baum[knoten] = prioritaet;
+        for (knoten >>= 1; knoten >= 1; knoten >>= 1) {
+            baum[knoten] = baum[2 * knoten] + baum[2 * knoten + 1];
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+/**
+ * Wertet viele Zeilen einer {@link QTabelle} auf einmal aus: beste Aktion bzw. größter Q-Wert
+ * über die legalen Aktionen jeder Zeile. Die Ergebnisse sind dieselben wie bei
+ * {@link QTabelle#besteAktion} und {@link QTabelle#maxWert} (bei Gleichstand gewinnt die
+ * kleinste Aktion).
+ * <p>
+ * Standard ist die skalare Schleife: eine Zeile hat höchstens 9, im Mittel etwa 3 Q-Werte, dafür
+ * lohnen sich maskiertes Laden und Lane-Reduktion der Vector API nicht (gemessen mit AVX-512
+ * etwa 2-9x langsamer). Die Vector-API-Variante {@code VektorAuswertung} liegt in
+ * {@code src/vektor/java} und wird nur mit {@code mvn -P vektor} gebaut; verwendet wird sie mit
+ * {@code --add-modules jdk.incubator.vector -Dtictactoe.vektor=true}.
+ */
+final class StapelAuswertung {
+    /** Alternative Implementierung, die zur Laufzeit statt der Schleifen verwendet wird. */
+    interface Auswertung {
+        void besteAktionen(QTabelle tabelle, int[] zeilen, int anzahl, int[] aktionen);
+
+        void maxWerte(QTabelle tabelle, int[] zeilen, int anzahl, double[] maxWerte);
+    }
+
+    /** Die Vector-API-Variante, null = skalar. */
+    static final Auswertung VEKTOR = ladeVektor();
+
+    private StapelAuswertung() {
+    }
+
+    private static Auswertung ladeVektor() {
+        if (!Boolean.getBoolean("tictactoe.vektor")
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (Auswertung) Class.forName(StapelAuswertung.class.getPackageName() + ".VektorAuswertung")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            System.err.println("VektorAuswertung nicht gefunden (mit mvn -P vektor bauen), rechne skalar.");
+            return null;
+        }
+    }
+
+    /**
+     * @param tabelle  Die Q-Tabelle.
+     * @param zeilen   Zeilen im Zustandsraum der Tabelle (bei Symmetrie-Reduktion kanonisch).
+     * @param anzahl   Anzahl der auszuwertenden Zeilen.
+     * @param aktionen Ausgabe: beste Aktion je Zeile (im Spielfeld der Zeile), -1 bei Endzuständen.
+     */
+    static void besteAktionen(QTabelle tabelle, int[] zeilen, int anzahl, int[] aktionen) {
+        if (VEKTOR != null) {
+            VEKTOR.besteAktionen(tabelle, zeilen, anzahl, aktionen);
+            return;
+        }
+        ZustandsRaum raum = tabelle.raum();
+        double[] werte = tabelle.werte();
+        for (int i = 0; i < anzahl; i++) {
+            int zeile = zeilen[i];
+            int position = raum.start(zeile);
+            int besteAktion = -1;
+            double maxQ = -Double.MAX_VALUE;
+            for (int maske = raum.legaleAktionen(zeile); maske != 0; maske &= maske - 1) {
+                double q = werte[position++];
+                if (q > maxQ) {
+                    maxQ = q;
+                    besteAktion = Integer.numberOfTrailingZeros(maske);
+                }
+            }
+            aktionen[i] = besteAktion;
+        }
+    }
+
+    /**
+     * @param tabelle   Die Q-Tabelle.
+     * @param zeilen    Zeilen im Zustandsraum der Tabelle (bei Symmetrie-Reduktion kanonisch).
+     * @param anzahl    Anzahl der auszuwertenden Zeilen.
+     * @param maxWerte  Ausgabe: max_a Q(s, a) je Zeile, 0.0 bei Endzuständen.
+     */
+    static void maxWerte(QTabelle tabelle, int[] zeilen, int anzahl, double[] maxWerte) {
+        if (VEKTOR != null) {
+            VEKTOR.maxWerte(tabelle, zeilen, anzahl, maxWerte);
+            return;
+        }
+        ZustandsRaum raum = tabelle.raum();
+        double[] werte = tabelle.werte();
+        for (int i = 0; i < anzahl; i++) {
+            int von = raum.start(zeilen[i]);
+            int bis = raum.start(zeilen[i] + 1);
+            double maxQ = von == bis ? 0.0 : -Double.MAX_VALUE;
+            for (int j = von; j < bis; j++) {
+                maxQ = Math.max(maxQ, werte[j]);
+            }
+            maxWerte[i] = maxQ;
+        }
+    }
+}
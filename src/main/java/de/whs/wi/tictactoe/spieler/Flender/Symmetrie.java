@@ -0,0 +1,98 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+/**
+ * Die 8 Symmetrien des 3x3-Spielfelds (Diedergruppe D4: 4 Drehungen, 4 Spiegelungen).
+ * <p>
+ * Für jeden der 19683 ternären Zustände wird einmalig der kanonische Vertreter (kleinster
+ * Index aller 8 Bilder) und die Transformation dorthin vorberechnet. Aktionen werden mit
+ * derselben Transformation in das kanonische Spielfeld abgebildet und mit der inversen
+ * Permutation wieder zurück.
+ */
+public final class Symmetrie {
+    public static final int ANZAHL_TRANSFORMATIONEN = 8;
+
+    // PERMUTATION[t][feld] = Feld, auf dem das Feld nach Transformation t landet
+    private static final int[][] PERMUTATION = new int[ANZAHL_TRANSFORMATIONEN][BitSpielfeld.ANZAHL_FELDER];
+    private static final int[][] INVERSE = new int[ANZAHL_TRANSFORMATIONEN][BitSpielfeld.ANZAHL_FELDER];
+
+    private static final int[] KANONISCH = new int[ZustandsRaum.ANZAHL_ZUSTAENDE];
+    private static final byte[] TRANSFORMATION = new byte[ZustandsRaum.ANZAHL_ZUSTAENDE];
+
+    static {
+        for (int feld = 0; feld < BitSpielfeld.ANZAHL_FELDER; feld++) {
+            int z = feld / 3;
+            int s = feld % 3;
+            int[][] ziele = {
+                    {z, s},         // Identität
+                    {s, 2 - z},     // 90° im Uhrzeigersinn
+                    {2 - z, 2 - s}, // 180°
+                    {2 - s, z},     // 270°
+                    {z, 2 - s},     // Spiegelung an der senkrechten Achse
+                    {2 - z, s},     // Spiegelung an der waagerechten Achse
+                    {s, z},         // Spiegelung an der Hauptdiagonale
+                    {2 - s, 2 - z}  // Spiegelung an der Nebendiagonale
+            };
+            for (int t = 0; t < ANZAHL_TRANSFORMATIONEN; t++) {
+                int ziel = ziele[t][0] * 3 + ziele[t][1];
+                PERMUTATION[t][feld] = ziel;
+                INVERSE[t][ziel] = feld;
+            }
+        }
+
+        for (int zustand = 0; zustand < ZustandsRaum.ANZAHL_ZUSTAENDE; zustand++) {
+            int kanonisch = zustand;
+            int besteTransformation = 0;
+            for (int t = 1; t < ANZAHL_TRANSFORMATIONEN; t++) {
+                int bild = transformiereZustand(t, zustand);
+                if (bild < kanonisch) {
+                    kanonisch = bild;
+                    besteTransformation = t;
+                }
+            }
+            KANONISCH[zustand] = kanonisch;
+            TRANSFORMATION[zustand] = (byte) besteTransformation;
+        }
+    }
+
+    private Symmetrie() {
+    }
+
+    private static int transformiereZustand(int t, int zustand) {
+        int bild = 0;
+        for (int feld = BitSpielfeld.ANZAHL_FELDER - 1; feld >= 0; feld--) {
+            bild += (zustand % 3) * BitSpielfeld.DREIER_POTENZEN[PERMUTATION[t][feld]];
+            zustand /= 3;
+        }
+        return bild;
+    }
+
+    /**
+     * @param zustand Ternärer Zustandsindex.
+     * @return Der kanonische Vertreter der Symmetrieklasse.
+     */
+    public static int kanonisch(int zustand) {
+        return KANONISCH[zustand];
+    }
+
+    /**
+     * @param zustand Ternärer Zustandsindex.
+     * @return Die Transformation, die den Zustand auf seinen kanonischen Vertreter abbildet.
+     */
+    public static int transformation(int zustand) {
+        return TRANSFORMATION[zustand];
+    }
+
+    /**
+     * @return Die Aktion im transformierten (kanonischen) Spielfeld.
+     */
+    public static int abbilden(int transformation, int aktion) {
+        return PERMUTATION[transformation][aktion];
+    }
+
+    /**
+     * @return Die Aktion im ursprünglichen Spielfeld.
+     */
+    public static int zurueckAbbilden(int transformation, int aktion) {
+        return INVERSE[transformation][aktion];
+    }
+}
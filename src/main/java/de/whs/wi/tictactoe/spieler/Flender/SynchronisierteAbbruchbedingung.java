@@ -0,0 +1,53 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import tictactoe.spieler.IAbbruchbedingung;
+
+/**
+ * Thread-sichere Hülle um eine beliebige {@link IAbbruchbedingung}.
+ * <p>
+ * Beim parallelen Training reservieren die Threads blockweise Spiele über
+ * {@link #reserviere(int)}: jede reservierte Runde entspricht genau einem Aufruf von
+ * {@code abbruch()} der inneren Bedingung, wie im sequentiellen Training. Ist die
+ * Bedingung einmal erfüllt, bleibt sie es für alle Threads.
+ */
+public class SynchronisierteAbbruchbedingung implements IAbbruchbedingung {
+    private final IAbbruchbedingung bedingung;
+    private volatile boolean beendet = false;
+
+    public SynchronisierteAbbruchbedingung(IAbbruchbedingung bedingung) {
+        this.bedingung = bedingung;
+    }
+
+    @Override
+    public synchronized boolean abbruch() {
+        if (!beendet && bedingung.abbruch()) {
+            beendet = true;
+        }
+        return beendet;
+    }
+
+    /**
+     * Reserviert bis zu {@code maxRunden} Runden.
+     *
+     * @param maxRunden Maximale Anzahl Runden für diesen Block.
+     * @return Anzahl der freigegebenen Runden, 0 wenn das Training beendet ist.
+     */
+    public synchronized int reserviere(int maxRunden) {
+        int runden = 0;
+        while (runden < maxRunden && !abbruch()) {
+            runden++;
+        }
+        return runden;
+    }
+
+    /**
+     * Beendet das Training unabhängig von der inneren Bedingung.
+     */
+    public void beende() {
+        beendet = true;
+    }
+
+    public boolean istBeendet() {
+        return beendet;
+    }
+}
@@ -0,0 +1,44 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight-Recorder-Event je übertragenem Block von {@link TrainingsMetriken#BLOCK} Trainingsepisoden
+ * eines Threads. Aufzeichnen z.B. mit {@code -XX:StartFlightRecording}, Durchsatz ergibt sich aus
+ * den Zeitstempeln.
+ */
+@Name("de.whs.wi.tictactoe.TrainingsBlock")
+@Label("Trainingsblock")
+@Category({"TicTacToe", "Training"})
+@StackTrace(false)
+@Description("Ergebnisse und TD-Fehler eines Blocks von Trainingsepisoden")
+final class TrainingsBlockEvent extends Event {
+    @Label("Episoden")
+    int episoden;
+
+    @Label("Siege")
+    int siege;
+
+    @Label("Niederlagen")
+    int niederlagen;
+
+    @Label("Unentschieden")
+    int unentschieden;
+
+    @Label("Mittlerer |TD-Fehler|")
+    double mittlererTdFehler;
+
+    @Label("Epsilon")
+    double epsilon;
+
+    @Label("Allokiert")
+    @Description("Vom Trainings-Thread im Block allokierte Bytes, -1 = nicht gemessen")
+    @DataAmount
+    long allokierteBytes;
+}
@@ -0,0 +1,27 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import tictactoe.spieler.ISpieler;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Zustand eines Trainings-Threads: eigenes Spielfeld, eigener Zufallsgenerator und das
+ * aktuelle Epsilon. Die Q-Tabelle kann zwischen mehreren Kontexten geteilt sein.
+ * <p>
+ * Der Trainingsgegner wird beim ersten Spiel vom lernenden Spieler angelegt und danach
+ * für alle Spiele dieses Threads wiederverwendet (Zurücksetzen über {@code neuesSpiel}).
+ */
+final class TrainingsKontext {
+    final QTabelle qTabelle;
+    final RandomGenerator random;
+    final BitSpielfeld spielfeld = new BitSpielfeld(); // wird pro Trainingsspiel geleert
+    double epsilon;
+    ISpieler gegner; // einmal pro Kontext erzeugt, nutzt denselben Zufallsgenerator
+    final TrainingsMetriken.Zaehler zaehler = new TrainingsMetriken.Zaehler(); // blockweise in die Metriken übertragen
+    ReplayPuffer replay; // wie der Gegner beim ersten Spiel angelegt, null = ohne Experience Replay
+
+    TrainingsKontext(QTabelle qTabelle, RandomGenerator random) {
+        this.qTabelle = qTabelle;
+        this.random = random;
+    }
+}
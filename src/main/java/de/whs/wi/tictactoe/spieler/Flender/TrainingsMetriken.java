@@ -0,0 +1,248 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import tictactoe.Farbe;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Laufende Kennzahlen eines Trainings, auch während des Trainings lesbar ({@link #stand()}).
+ * <p>
+ * Die Trainings-Threads zählen in ihrem {@link TrainingsKontext} ohne Synchronisation und
+ * übertragen alle {@link #BLOCK} Episoden einen Block; nur dann wird synchronisiert und ein
+ * {@link TrainingsBlockEvent} für den Flight Recorder erzeugt. Sieg-/Niederlagen-/Remisquote,
+ * TD-Fehler und Episoden/s beziehen sich auf ein gleitendes Fenster der letzten
+ * {@link #FENSTER_BLOECKE} Blöcke. Angefangene Blöcke werden nicht übertragen.
+ */
+public final class TrainingsMetriken {
+    static final int BLOCK = 1024; // Episoden je Übertragung
+    private static final int FENSTER_BLOECKE = 64; // gleitendes Fenster: 64 * 1024 Episoden
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    // Gleitendes Fenster, je Block: Siege, Niederlagen, Unentschieden, Summe |TD|, Updates, Zeit
+    private final long[] fensterSiege = new long[FENSTER_BLOECKE];
+    private final long[] fensterNiederlagen = new long[FENSTER_BLOECKE];
+    private final long[] fensterUnentschieden = new long[FENSTER_BLOECKE];
+    private final double[] fensterTdSumme = new double[FENSTER_BLOECKE];
+    private final long[] fensterTdUpdates = new long[FENSTER_BLOECKE];
+    private final long[] fensterZeit = new long[FENSTER_BLOECKE]; // nanoTime der Übertragung
+    private int fensterPosition;
+    private int fensterBelegt;
+
+    private long episoden;
+    private long gemesseneEpisoden; // Episoden mit gemessener Allokation
+    private long allokierteBytes;
+    private double epsilon;
+    private long startZeit = System.nanoTime();
+    private long startGcAnzahl;
+    private long startGcZeitMs;
+    private QTabelle qTabelle;
+
+    /**
+     * Zähler eines Trainings-Threads, liegt im {@link TrainingsKontext}.
+     */
+    static final class Zaehler {
+        private int episoden;
+        private int siege;
+        private int niederlagen;
+        private int unentschieden;
+        private double tdSumme;
+        private int tdUpdates;
+        private long allokiertBeiBlockStart = -1; // -1 = noch kein Messpunkt
+
+        /**
+         * @param tdFehler Q-Target minus alter Q-Wert eines Updates.
+         */
+        void tdFehler(double tdFehler) {
+            tdSumme += Math.abs(tdFehler);
+            tdUpdates++;
+        }
+    }
+
+    /**
+     * Stand der Kennzahlen.
+     *
+     * @param episodenProSekunde Durchsatz im gleitenden Fenster (anfangs seit Trainingsbeginn)
+     * @param mittlererTdFehler  Mittel von |Q-Target - Q(s, a)| im gleitenden Fenster
+     * @param abdeckung          Anteil der Q-Werte, die nicht mehr 0.0 sind
+     * @param bytesProEpisode    Allokation der Trainings-Threads je Episode
+     * @param gcAnzahl           Garbage Collections seit Trainingsbeginn
+     * @param gcZeitMs           Zeit in Garbage Collections seit Trainingsbeginn
+     */
+    public record Stand(long episoden, double episodenProSekunde, double siegQuote, double niederlageQuote,
+                        double unentschiedenQuote, double mittlererTdFehler, double epsilon, double abdeckung,
+                        double bytesProEpisode, long gcAnzahl, long gcZeitMs) {
+
+        /**
+         * Gibt den Stand in einer Zeile auf der Konsole aus.
+         */
+        public void ausgeben() {
+            System.out.printf("Episoden %d (%.0f/s) | Siege %.2f%% | Niederlagen %.2f%% | Unentschieden %.2f%% | "
+                            + "|TD| %.5f | Epsilon %.4f | Abdeckung %.2f%% | %.1f Bytes/Episode | GC %d (%d ms)%n",
+                    episoden, episodenProSekunde, 100.0 * siegQuote, 100.0 * niederlageQuote,
+                    100.0 * unentschiedenQuote, mittlererTdFehler, epsilon, 100.0 * abdeckung, bytesProEpisode,
+                    gcAnzahl, gcZeitMs);
+        }
+    }
+
+    /**
+     * Setzt die Kennzahlen zu Beginn eines Trainings zurück.
+     *
+     * @param qTabelle Die trainierte Q-Tabelle (für die Abdeckung).
+     */
+    synchronized void beginne(QTabelle qTabelle) {
+        this.qTabelle = qTabelle;
+        fensterPosition = 0;
+        fensterBelegt = 0;
+        episoden = 0;
+        gemesseneEpisoden = 0;
+        allokierteBytes = 0;
+        startZeit = System.nanoTime();
+        startGcAnzahl = 0;
+        startGcZeitMs = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            startGcAnzahl += Math.max(0, gc.getCollectionCount());
+            startGcZeitMs += Math.max(0, gc.getCollectionTime());
+        }
+    }
+
+    /**
+     * Zählt das Ergebnis einer Trainingsepisode; am Ende der Episode vom Trainings-Thread aufgerufen.
+     *
+     * @param kontext Kontext des Threads, sein Spielfeld enthält den Endzustand.
+     * @param agent   Farbe des Agenten in der Episode.
+     */
+    void episodeBeendet(TrainingsKontext kontext, Farbe agent) {
+        Zaehler zaehler = kontext.zaehler;
+        BitSpielfeld spielfeld = kontext.spielfeld;
+        if (spielfeld.hatGewonnen(agent)) {
+            zaehler.siege++;
+        } else if (spielfeld.hatGewonnen(agent.opposite())) {
+            zaehler.niederlagen++;
+        } else {
+            zaehler.unentschieden++;
+        }
+        if (++zaehler.episoden == BLOCK) {
+            uebertrage(zaehler, kontext.epsilon);
+        }
+    }
+
+    // Überträgt einen vollen Block ins Fenster und setzt die Zähler des Threads zurück
+    private void uebertrage(Zaehler zaehler, double epsilon) {
+        long allokiert = THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+        long blockBytes = zaehler.allokiertBeiBlockStart >= 0 && allokiert >= 0
+                ? allokiert - zaehler.allokiertBeiBlockStart : -1;
+
+        TrainingsBlockEvent event = new TrainingsBlockEvent();
+        if (event.shouldCommit()) {
+            event.episoden = zaehler.episoden;
+            event.siege = zaehler.siege;
+            event.niederlagen = zaehler.niederlagen;
+            event.unentschieden = zaehler.unentschieden;
+            event.mittlererTdFehler = zaehler.tdUpdates == 0 ? 0.0 : zaehler.tdSumme / zaehler.tdUpdates;
+            event.epsilon = epsilon;
+            event.allokierteBytes = blockBytes;
+            event.commit();
+        }
+
+        synchronized (this) {
+            int i = fensterPosition;
+            fensterSiege[i] = zaehler.siege;
+            fensterNiederlagen[i] = zaehler.niederlagen;
+            fensterUnentschieden[i] = zaehler.unentschieden;
+            fensterTdSumme[i] = zaehler.tdSumme;
+            fensterTdUpdates[i] = zaehler.tdUpdates;
+            fensterZeit[i] = System.nanoTime();
+            fensterPosition = (i + 1) % FENSTER_BLOECKE;
+            fensterBelegt = Math.min(fensterBelegt + 1, FENSTER_BLOECKE);
+            episoden += zaehler.episoden;
+            if (blockBytes >= 0) {
+                allokierteBytes += blockBytes;
+                gemesseneEpisoden += zaehler.episoden;
+            }
+            this.epsilon = epsilon;
+        }
+
+        zaehler.episoden = 0;
+        zaehler.siege = 0;
+        zaehler.niederlagen = 0;
+        zaehler.unentschieden = 0;
+        zaehler.tdSumme = 0.0;
+        zaehler.tdUpdates = 0;
+        zaehler.allokiertBeiBlockStart = allokiert;
+    }
+
+    /**
+     * @return Der aktuelle Stand; kann jederzeit, auch aus einem anderen Thread, gelesen werden.
+     */
+    public Stand stand() {
+        long siege = 0;
+        long niederlagen = 0;
+        long unentschieden = 0;
+        double tdSumme = 0.0;
+        long tdUpdates = 0;
+        double episodenProSekunde;
+        long gesamt;
+        double bytesProEpisode;
+        double eps;
+        QTabelle tabelle;
+        long gcAnzahl = 0;
+        long gcZeitMs = 0;
+        synchronized (this) {
+            for (int i = 0; i < fensterBelegt; i++) {
+                siege += fensterSiege[i];
+                niederlagen += fensterNiederlagen[i];
+                unentschieden += fensterUnentschieden[i];
+                tdSumme += fensterTdSumme[i];
+                tdUpdates += fensterTdUpdates[i];
+            }
+            long jetzt = System.nanoTime();
+            if (fensterBelegt == FENSTER_BLOECKE) {
+                // Ältester Block im Fenster markiert den Beginn der folgenden Blöcke
+                long aeltester = fensterZeit[fensterPosition];
+                episodenProSekunde = (FENSTER_BLOECKE - 1) * (double) BLOCK / ((jetzt - aeltester) / 1e9);
+            } else {
+                episodenProSekunde = episoden / ((jetzt - startZeit) / 1e9);
+            }
+            gesamt = episoden;
+            bytesProEpisode = gemesseneEpisoden == 0 ? 0.0 : (double) allokierteBytes / gemesseneEpisoden;
+            eps = epsilon;
+            tabelle = qTabelle;
+            gcAnzahl -= startGcAnzahl;
+            gcZeitMs -= startGcZeitMs;
+        }
+        double spiele = siege + niederlagen + unentschieden;
+
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcAnzahl += Math.max(0, gc.getCollectionCount());
+            gcZeitMs += Math.max(0, gc.getCollectionTime());
+        }
+        return new Stand(gesamt, episodenProSekunde,
+                spiele == 0 ? 0.0 : siege / spiele,
+                spiele == 0 ? 0.0 : niederlagen / spiele,
+                spiele == 0 ? 0.0 : unentschieden / spiele,
+                tdUpdates == 0 ? 0.0 : tdSumme / tdUpdates,
+                eps, tabelle == null ? 0.0 : abdeckung(tabelle), bytesProEpisode, gcAnzahl, gcZeitMs);
+    }
+
+    // Liest die Werte ohne Sperre, während das Training weiterschreibt (Momentaufnahme genügt)
+    private static double abdeckung(QTabelle qTabelle) {
+        double[] werte = qTabelle.werte();
+        int belegt = 0;
+        for (double wert : werte) {
+            if (wert != 0.0) {
+                belegt++;
+            }
+        }
+        return werte.length == 0 ? 0.0 : (double) belegt / werte.length;
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean;
+        }
+        return null;
+    }
+}
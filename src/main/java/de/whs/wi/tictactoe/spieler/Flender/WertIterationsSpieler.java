@@ -0,0 +1,251 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import tictactoe.Farbe;
+import tictactoe.IllegalerZugException;
+import tictactoe.Zug;
+import tictactoe.spieler.IAbbruchbedingung;
+import tictactoe.spieler.ILernenderSpieler;
+import tictactoe.spieler.ISpieler;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * Lernender Spieler, der die Q-Tabelle gegen ein bekanntes {@link GegnerModell} per
+ * Wertiteration löst, statt Spiele zu simulieren.
+ * <p>
+ * Ein Sweep berechnet für jeden erreichbaren, nicht beendeten Zustand und jede legale Aktion
+ * Q(s, a) = E[r + gamma * max Q(s'', a')], gemittelt über die Antworten des Gegners
+ * (s'' = Zustand nach dem Gegnerzug, also wieder der Agent am Zug). Gespeichert wird im selben
+ * Format wie bei den Q-Learning-Spielern ({@link WissensDatei}), gemeinsam ist aber nur das
+ * Format: das Q-Learning bootstrapt vom Zustand direkt nach dem eigenen Zug und wertet Siege des
+ * Gegners nicht aus, die Werte haben daher auch bei gleichen {@link Belohnungen} einen anderen
+ * Fixpunkt.
+ * <p>
+ * Asynchron (Standard) wird in-place und von vollen zu leeren Spielfeldern gerechnet; da jeder
+ * Folgezustand mehr Steine hat, ist die Tabelle schon nach einem Sweep exakt, der zweite
+ * bestätigt die Konvergenz. Synchron rechnet jeder Sweep nur auf den Werten des vorherigen.
+ */
+public class WertIterationsSpieler implements ILernenderSpieler {
+    // Lernparameter
+    private static final double KONVERGENZ = 1e-12; // maximale Änderung, ab der ein Sweep als konvergiert gilt
+
+    private final GegnerModell gegner;
+    private final Belohnungen belohnungen; // Rewards aus Sicht des Agenten und Diskontfaktor
+    private QTabelle qTabelle = new QTabelle();
+    private Politik politik; // nach dem Training eingefroren
+    private boolean synchron;
+    private long sweeps; // Sweeps des letzten Trainings, wird als Rundenzähler mitgespeichert
+
+    private final RandomGenerator random = Zufall.erzeuge();
+    private final double[] gegnerZuege = new double[BitSpielfeld.ANZAHL_FELDER];
+
+    // ISpieler-Attribute
+    private String name;
+    private Farbe farbe;
+    private final BitSpielfeld internesSpielfeld = new BitSpielfeld();
+
+    /**
+     * @param name        Name des Spielers.
+     * @param gegner      Modell des Gegners, gegen den die Tabelle optimal wird.
+     * @param belohnungen Rewards und Diskontfaktor, z.B. {@link Belohnungen#HEURISTIK}.
+     */
+    public WertIterationsSpieler(String name, GegnerModell gegner, Belohnungen belohnungen) {
+        this.name = name;
+        this.gegner = gegner;
+        this.belohnungen = belohnungen;
+    }
+
+    /**
+     * @param synchron true = jeder Sweep rechnet auf einer Kopie des vorherigen (Jacobi),
+     *                 false = in-place (Gauss-Seidel, Standard).
+     */
+    public void setSynchron(boolean synchron) {
+        this.synchron = synchron;
+    }
+
+    // --- 1. Training ---
+
+    /**
+     * Führt Sweeps aus, bis sich kein Q-Wert mehr ändert oder die Abbruchbedingung greift.
+     *
+     * @param abbruchBedingung Wird nach jedem Sweep geprüft.
+     * @return true, wenn die Tabelle konvergiert ist.
+     */
+    @Override
+    public boolean trainieren(IAbbruchbedingung abbruchBedingung) {
+        this.politik = null;
+        if (abbruchBedingung instanceof AbbruchNachKonvergenz konvergenz) {
+            konvergenz.beobachte(qTabelle); // ein Sweep je Runde
+        }
+        int[] reihenfolge = sweepReihenfolge();
+        sweeps = 0;
+        double aenderung;
+        do {
+            QTabelle quelle = synchron ? qTabelle.kopie() : qTabelle;
+            aenderung = sweep(quelle, reihenfolge);
+            sweeps++;
+            System.out.println("Sweep " + sweeps + ": maximale Änderung " + aenderung);
+        } while (aenderung > KONVERGENZ && !abbruchBedingung.abbruch());
+        this.politik = Politik.aus(qTabelle); // Wettkampfzüge nur noch nachschlagen
+        return aenderung <= KONVERGENZ;
+    }
+
+    // Alle nicht beendeten Zustände, die mit den meisten Steinen zuerst
+    private static int[] sweepReihenfolge() {
+        ZustandsRaum raum = ZustandsRaum.VOLL;
+        return IntStream.range(0, raum.anzahlZeilen())
+                .filter(zeile -> raum.legaleAktionen(zeile) != 0)
+                .map(raum::zustand)
+                .boxed()
+                .sorted(Comparator.comparingInt((Integer zustand) -> anzahlSteine(zustand)).reversed())
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static int anzahlSteine(int zustand) {
+        int steine = 0;
+        for (; zustand > 0; zustand /= 3) {
+            if (zustand % 3 != 0) {
+                steine++;
+            }
+        }
+        return steine;
+    }
+
+    // Ein Sweep über alle Zustände, liest Folgewerte aus quelle; liefert die größte Änderung
+    private double sweep(QTabelle quelle, int[] reihenfolge) {
+        BitSpielfeld spielfeld = new BitSpielfeld();
+        double maxAenderung = 0.0;
+        for (int zustand : reihenfolge) {
+            spielfeld.ladeZustand(zustand);
+            Farbe amZug = spielfeld.amZug();
+            for (int leer = spielfeld.leereFelder(); leer != 0; leer &= leer - 1) {
+                int aktion = Integer.numberOfTrailingZeros(leer);
+                spielfeld.setze(aktion, amZug);
+                double q = bewerteNachZug(spielfeld, amZug, quelle);
+                spielfeld.entferne(aktion);
+                maxAenderung = Math.max(maxAenderung, Math.abs(q - qTabelle.wert(zustand, aktion)));
+                qTabelle.setzeWert(zustand, aktion, q);
+            }
+        }
+        return maxAenderung;
+    }
+
+    // Erwarteter Wert nach dem Agentenzug: Endzustand oder Mittel über die Antworten des Gegners
+    private double bewerteNachZug(BitSpielfeld spielfeld, Farbe agent, QTabelle quelle) {
+        if (spielfeld.hatGewonnen(agent)) {
+            return belohnungen.sieg();
+        }
+        if (spielfeld.istVoll()) {
+            return belohnungen.unentschieden();
+        }
+        Farbe gegnerFarbe = agent.opposite();
+        double[] p = gegnerZuege;
+        gegner.verteilung(spielfeld.maske(gegnerFarbe), spielfeld.maske(agent), p);
+        double erwartung = 0.0;
+        for (int feld = 0; feld < BitSpielfeld.ANZAHL_FELDER; feld++) {
+            if (p[feld] == 0.0) {
+                continue;
+            }
+            spielfeld.setze(feld, gegnerFarbe);
+            double wert;
+            if (spielfeld.hatGewonnen(gegnerFarbe)) {
+                wert = belohnungen.niederlage();
+            } else if (spielfeld.istVoll()) {
+                wert = belohnungen.unentschieden();
+            } else {
+                wert = belohnungen.gamma() * quelle.maxWert(spielfeld.zustandsIndex());
+            }
+            spielfeld.entferne(feld);
+            erwartung += p[feld] * wert;
+        }
+        return erwartung;
+    }
+
+    /**
+     * @return Anzahl der Sweeps des letzten Trainings.
+     */
+    public long getSweeps() {
+        return sweeps;
+    }
+
+    /**
+     * @return Die gelöste Politik (z.B. für {@link ExakteEvaluierung} oder {@link Minimax#pruefe}).
+     */
+    public Politik getPolitik() {
+        if (politik == null) {
+            politik = Politik.aus(qTabelle);
+        }
+        return politik;
+    }
+
+    /**
+     * @return Ein unabhängiger Wettkampfspieler mit der gelösten Politik.
+     */
+    public ISpieler wettkampfSpieler() {
+        return new PolitikSpieler(name, getPolitik());
+    }
+
+    // --- 2. Wissen speichern / laden ---
+
+    /**
+     * Speichert die Q-Tabelle im Format von {@link WissensDatei} (Epsilon 0, Rundenzähler =
+     * Sweeps) und die Politik daneben.
+     *
+     * @param dateiPfad Zieldatei.
+     * @throws IOException bei Schreibfehlern.
+     */
+    @Override
+    public void speichereWissen(String dateiPfad) throws IOException {
+        WissensDatei.schreibe(dateiPfad, qTabelle, 0.0, sweeps);
+        WissensDatei.schreibePolitik(WissensDatei.politikPfad(dateiPfad), getPolitik(), qTabelle, sweeps);
+        System.out.println("Q-Matrix (Wertiteration) gespeichert unter: " + dateiPfad);
+    }
+
+    /**
+     * Lädt eine Wissensdatei, auch eine von einem Q-Learning-Spieler; ein weiteres Training
+     * setzt auf ihren Werten auf.
+     *
+     * @param dateiPfad Die Wissensdatei.
+     * @throws IOException wenn die Datei fehlt oder beschädigt ist.
+     */
+    @Override
+    public void ladeWissen(String dateiPfad) throws IOException {
+        WissensDatei.Inhalt inhalt = WissensDatei.lade(dateiPfad);
+        this.qTabelle = inhalt.qTabelle().imVollenRaum(); // Sweeps schreiben je Zustand
+        this.sweeps = inhalt.runden();
+        // Politik verwenden, wenn sie neben der Wissensdatei liegt und aus genau dieser Tabelle stammt
+        this.politik = WissensDatei.ladePolitik(WissensDatei.politikPfad(dateiPfad), inhalt.qTabelle(), sweeps);
+        System.out.println("Q-Matrix erfolgreich geladen.");
+    }
+
+    // --- 3. ISpieler ---
+
+    @Override
+    public void neuesSpiel(Farbe farbe, int bedenkzeitInSekunden) {
+        this.farbe = farbe;
+        this.internesSpielfeld.leeren();
+    }
+
+    @Override
+    public Zug berechneZug(Zug vorherigerZug, long zeitKreis, long zeitKreuz) throws IllegalerZugException {
+        if (vorherigerZug != null) {
+            internesSpielfeld.setze(BitSpielfeld.feld(vorherigerZug), farbe.opposite());
+        }
+        int feld = getPolitik().aktion(internesSpielfeld.zustandsIndex());
+        if (feld == -1) {
+            // Unbekannter Zustand: zufälliges leeres Feld
+            feld = BitSpielfeld.zufaelligesFeld(internesSpielfeld.leereFelder(), random);
+        }
+        internesSpielfeld.setze(feld, farbe);
+        return BitSpielfeld.zug(feld);
+    }
+
+    @Override public void setName(String name) { this.name = name; }
+    @Override public String getName() { return name; }
+    @Override public void setFarbe(Farbe farbe) { this.farbe = farbe; }
+    @Override public Farbe getFarbe() { return farbe; }
+}
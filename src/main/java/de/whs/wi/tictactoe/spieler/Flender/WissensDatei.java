@@ -0,0 +1,384 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Binäres, versioniertes Dateiformat für das gelernte Wissen (Q-Tabelle und Epsilon).
+ * <p>
+ * Aufbau (little-endian):
+ * <pre>
+ *  0  int    Magic "QTAB"
+ *  4  int    Version
+ *  8  int    Layout (0 = alle erreichbaren Zustände, 1 = symmetrie-reduziert)
+ * 12  int    Anzahl Q-Werte
+ * 16  double Epsilon
+ * 24  int    CRC32 über den Datenblock
+ * 28  int    reserviert
+ * 32  long   Trainierte Runden (ab Version 2, zum Fortsetzen des Trainings)
+ * 40  double[Anzahl Q-Werte] in der kompakten Reihenfolge von {@link ZustandsRaum}
+ * </pre>
+ * Version-1-Dateien (ohne Rundenzähler, Daten ab Byte 32) werden weiterhin gelesen.
+ * Geschrieben wird über einen {@link FileChannel} in eine temporäre Datei, die danach atomar
+ * umbenannt wird; ein Absturz beim Schreiben hinterlässt also nie eine halbe Datei. Gelesen wird per read-only Memory-Mapping,
+ * sodass mehrere JVMs denselben Page-Cache nutzen. Dateien im alten
+ * ObjectOutputStream-Format werden weiterhin gelesen.
+ * <p>
+ * Für den Wettkampf kann zusätzlich eine {@link QuantisierteQTabelle} exportiert werden
+ * (Magic "QINT", gleicher 32-Byte-Header ohne Epsilon, dafür mit Anzahl Zeilen), danach
+ * {@code short[Zeilen]} Minimum, {@code short[Zeilen]} Schrittweite (float16) und
+ * {@code byte[Anzahl Q-Werte]} Codes.
+ * <p>
+ * Neben jeder Wissensdatei liegt außerdem die daraus kompilierte {@link Politik}
+ * (Magic "QPOL", {@code byte[Zeilen]} beste Aktion je erreichbarem Zustand). Ab Version 2
+ * stehen im Header statt der reservierten Felder CRC32 und Rundenzähler der Q-Tabelle, aus der
+ * sie kompiliert wurde; beim Laden wird sie nur verwendet, wenn beides zur geladenen Tabelle
+ * passt. Eine veraltete Politik-Datei neben einer neueren Tabelle wird so ignoriert.
+ */
+public final class WissensDatei {
+    private static final int MAGIC = 0x42415451; // "QTAB" little-endian
+    private static final int MAGIC_QUANTISIERT = 0x544E4951; // "QINT" little-endian
+    private static final int MAGIC_POLITIK = 0x4C4F5051; // "QPOL" little-endian
+    private static final String POLITIK_ENDUNG = ".politik";
+    private static final String DELTA_ENDUNG = ".delta";
+    private static final int VERSION = 1; // Quantisierte Tabelle
+    private static final int VERSION_POLITIK = 2; // mit Prüfsumme und Runden der Quelltabelle
+    private static final int VERSION_WISSEN = 2;
+    private static final int HEADER_GROESSE = 32;
+    private static final int HEADER_GROESSE_WISSEN = 40; // ab Version 2 mit Rundenzähler
+    private static final String TEMP_ENDUNG = ".tmp";
+
+    private static final int LAYOUT_VOLL = 0;
+    private static final int LAYOUT_SYMMETRISCH = 1;
+
+    /**
+     * Inhalt einer Wissensdatei.
+     *
+     * @param runden Bisher trainierte Runden, 0 bei Dateien ohne Rundenzähler.
+     */
+    public record Inhalt(QTabelle qTabelle, double epsilon, long runden) {
+    }
+
+    private WissensDatei() {
+    }
+
+    /**
+     * @param dateiPfad Zieldatei, wird überschrieben.
+     * @param qTabelle  Die zu speichernde Q-Tabelle.
+     * @param epsilon   Die aktuelle Explorationsrate.
+     * @param runden    Bisher trainierte Runden.
+     * @throws IOException bei Schreibfehlern.
+     */
+    public static void schreibe(String dateiPfad, QTabelle qTabelle, double epsilon, long runden)
+            throws IOException {
+        double[] werte = qTabelle.werte();
+        ByteBuffer daten = datenBlock(werte);
+        CRC32 crc = new CRC32();
+        crc.update(daten.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_GROESSE_WISSEN).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC)
+                .putInt(VERSION_WISSEN)
+                .putInt(layout(qTabelle.raum()))
+                .putInt(werte.length)
+                .putDouble(epsilon)
+                .putInt((int) crc.getValue())
+                .putInt(0)
+                .putLong(runden)
+                .flip();
+
+        schreibeAtomar(dateiPfad, header, daten);
+    }
+
+    /**
+     * Lädt eine Wissensdatei im Binärformat oder im alten ObjectOutputStream-Format. Liegt
+     * daneben ein passendes Delta-Protokoll ({@link #deltaPfad}), werden dessen Einträge
+     * angewendet.
+     *
+     * @param dateiPfad Die Datei.
+     * @return Q-Tabelle, Epsilon und Rundenzähler.
+     * @throws IOException wenn die Datei fehlt, beschädigt ist oder nicht zum Layout passt.
+     */
+    public static Inhalt lade(String dateiPfad) throws IOException {
+        try (FileChannel kanal = FileChannel.open(Path.of(dateiPfad), StandardOpenOption.READ)) {
+            if (kanal.size() < HEADER_GROESSE || leseMagic(kanal) != MAGIC) {
+                return ladeAltesFormat(dateiPfad);
+            }
+            MappedByteBuffer datei = kanal.map(FileChannel.MapMode.READ_ONLY, 0, kanal.size());
+            datei.order(ByteOrder.LITTLE_ENDIAN);
+
+            datei.getInt(); // Magic
+            int version = datei.getInt();
+            if (version != 1 && version != VERSION_WISSEN) {
+                throw new IOException("Nicht unterstützte Version der Wissensdatei: " + version);
+            }
+            int layout = datei.getInt();
+            int anzahlWerte = datei.getInt();
+            double epsilon = datei.getDouble();
+            int pruefsumme = datei.getInt();
+            datei.getInt(); // reserviert
+            int headerGroesse = version == 1 ? HEADER_GROESSE : HEADER_GROESSE_WISSEN;
+            long runden = version == 1 ? 0 : datei.getLong();
+
+            ZustandsRaum raum = raum(layout);
+            if (anzahlWerte != raum.anzahlWerte()
+                    || kanal.size() != headerGroesse + (long) anzahlWerte * Double.BYTES) {
+                throw new IOException("Wissensdatei passt nicht zum Layout: " + anzahlWerte + " Werte");
+            }
+
+            ByteBuffer daten = datei.slice(headerGroesse, anzahlWerte * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            pruefeSumme(daten, pruefsumme);
+
+            double[] werte = new double[anzahlWerte];
+            daten.asDoubleBuffer().get(werte);
+            // Delta-Checkpoints seit diesem Vollbild nachspielen
+            return DeltaProtokoll.wendeAn(deltaPfad(dateiPfad), new Inhalt(QTabelle.aus(raum, werte), epsilon, runden));
+        }
+    }
+
+    // --- Quantisierter Export ---
+
+    /**
+     * @param dateiPfad Zieldatei, wird überschrieben.
+     * @param qTabelle  Die quantisierte Q-Tabelle.
+     * @throws IOException bei Schreibfehlern.
+     */
+    public static void schreibeQuantisiert(String dateiPfad, QuantisierteQTabelle qTabelle) throws IOException {
+        short[] minimum = qTabelle.minimum();
+        byte[] codes = qTabelle.codes();
+        ByteBuffer daten = ByteBuffer.allocate(2 * minimum.length * Short.BYTES + codes.length)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        daten.asShortBuffer().put(minimum).put(qTabelle.schritt());
+        daten.position(2 * minimum.length * Short.BYTES).put(codes).flip();
+        CRC32 crc = new CRC32();
+        crc.update(daten.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_GROESSE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC_QUANTISIERT)
+                .putInt(VERSION)
+                .putInt(layout(qTabelle.raum()))
+                .putInt(codes.length)
+                .putInt(minimum.length)
+                .putInt((int) crc.getValue())
+                .putLong(0)
+                .flip();
+
+        schreibeAtomar(dateiPfad, header, daten);
+    }
+
+    /**
+     * @param dateiPfad Mit {@link #schreibeQuantisiert} geschriebene Datei.
+     * @return Die quantisierte Q-Tabelle.
+     * @throws IOException wenn die Datei fehlt, beschädigt ist oder nicht zum Layout passt.
+     */
+    public static QuantisierteQTabelle ladeQuantisiert(String dateiPfad) throws IOException {
+        try (FileChannel kanal = FileChannel.open(Path.of(dateiPfad), StandardOpenOption.READ)) {
+            if (kanal.size() < HEADER_GROESSE || leseMagic(kanal) != MAGIC_QUANTISIERT) {
+                throw new IOException("Keine quantisierte Wissensdatei: " + dateiPfad);
+            }
+            MappedByteBuffer datei = kanal.map(FileChannel.MapMode.READ_ONLY, 0, kanal.size());
+            datei.order(ByteOrder.LITTLE_ENDIAN);
+
+            datei.getInt(); // Magic
+            int version = datei.getInt();
+            if (version != VERSION) {
+                throw new IOException("Nicht unterstützte Version der Wissensdatei: " + version);
+            }
+            ZustandsRaum raum = raum(datei.getInt());
+            int anzahlWerte = datei.getInt();
+            int anzahlZeilen = datei.getInt();
+            int pruefsumme = datei.getInt();
+            int groesse = 2 * anzahlZeilen * Short.BYTES + anzahlWerte;
+            if (anzahlWerte != raum.anzahlWerte() || anzahlZeilen != raum.anzahlZeilen()
+                    || kanal.size() != HEADER_GROESSE + (long) groesse) {
+                throw new IOException("Wissensdatei passt nicht zum Layout: " + anzahlWerte + " Werte");
+            }
+
+            ByteBuffer daten = datei.slice(HEADER_GROESSE, groesse).order(ByteOrder.LITTLE_ENDIAN);
+            pruefeSumme(daten, pruefsumme);
+
+            short[] minimum = new short[anzahlZeilen];
+            short[] schritt = new short[anzahlZeilen];
+            byte[] codes = new byte[anzahlWerte];
+            daten.asShortBuffer().get(minimum).get(schritt);
+            daten.get(2 * anzahlZeilen * Short.BYTES, codes);
+            return new QuantisierteQTabelle(raum, codes, minimum, schritt);
+        }
+    }
+
+    // --- Eingefrorene Politik ---
+
+    /**
+     * @param dateiPfad Pfad der Wissensdatei.
+     * @return Pfad des zugehörigen Delta-Protokolls (Delta-Checkpoints).
+     */
+    public static String deltaPfad(String dateiPfad) {
+        return dateiPfad + DELTA_ENDUNG;
+    }
+
+    /**
+     * @param dateiPfad Pfad der Wissensdatei.
+     * @return Pfad der zugehörigen Politik-Datei.
+     */
+    public static String politikPfad(String dateiPfad) {
+        return dateiPfad + POLITIK_ENDUNG;
+    }
+
+    /**
+     * @param dateiPfad Zieldatei, wird überschrieben.
+     * @param politik   Die eingefrorene Politik.
+     * @param quelle    Die Q-Tabelle, aus der die Politik kompiliert wurde (wie gespeichert).
+     * @param runden    Rundenzähler, mit dem die Q-Tabelle gespeichert wird.
+     * @throws IOException bei Schreibfehlern.
+     */
+    public static void schreibePolitik(String dateiPfad, Politik politik, QTabelle quelle, long runden)
+            throws IOException {
+        ByteBuffer daten = ByteBuffer.wrap(politik.aktionen());
+        CRC32 crc = new CRC32();
+        crc.update(daten.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_GROESSE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC_POLITIK)
+                .putInt(VERSION_POLITIK)
+                .putInt(LAYOUT_VOLL)
+                .putInt(politik.aktionen().length)
+                .putInt((int) crc.getValue())
+                .putInt(pruefsumme(quelle))
+                .putLong(runden)
+                .flip();
+
+        schreibeAtomar(dateiPfad, header, daten);
+    }
+
+    /**
+     * @param dateiPfad Mit {@link #schreibePolitik} geschriebene Datei.
+     * @param quelle    Die dazu geladene Q-Tabelle (wie gespeichert, vor einer Umwandlung).
+     * @param runden    Der dazu geladene Rundenzähler.
+     * @return Die eingefrorene Politik oder null, wenn die Datei fehlt oder nicht aus dieser
+     * Q-Tabelle kompiliert wurde (veraltet oder Version 1 ohne Angabe der Quelle).
+     * @throws IOException wenn die Datei beschädigt ist.
+     */
+    public static Politik ladePolitik(String dateiPfad, QTabelle quelle, long runden) throws IOException {
+        if (!Files.exists(Path.of(dateiPfad))) {
+            return null;
+        }
+        try (FileChannel kanal = FileChannel.open(Path.of(dateiPfad), StandardOpenOption.READ)) {
+            if (kanal.size() < HEADER_GROESSE || leseMagic(kanal) != MAGIC_POLITIK) {
+                throw new IOException("Keine Politik-Datei: " + dateiPfad);
+            }
+            MappedByteBuffer datei = kanal.map(FileChannel.MapMode.READ_ONLY, 0, kanal.size());
+            datei.order(ByteOrder.LITTLE_ENDIAN);
+
+            datei.getInt(); // Magic
+            int version = datei.getInt();
+            if (version != 1 && version != VERSION_POLITIK) {
+                throw new IOException("Nicht unterstützte Version der Wissensdatei: " + version);
+            }
+            int layout = datei.getInt();
+            int anzahlZeilen = datei.getInt();
+            int pruefsumme = datei.getInt();
+            int quellPruefsumme = datei.getInt();
+            long quellRunden = datei.getLong();
+            if (version == 1 || quellPruefsumme != pruefsumme(quelle) || quellRunden != runden) {
+                return null; // gehört nicht (nachweislich) zu dieser Q-Tabelle
+            }
+            if (layout != LAYOUT_VOLL || anzahlZeilen != ZustandsRaum.VOLL.anzahlZeilen()
+                    || kanal.size() != HEADER_GROESSE + (long) anzahlZeilen) {
+                throw new IOException("Politik-Datei passt nicht zum Layout: " + anzahlZeilen + " Zustände");
+            }
+
+            ByteBuffer daten = datei.slice(HEADER_GROESSE, anzahlZeilen);
+            pruefeSumme(daten, pruefsumme);
+
+            byte[] aktionen = new byte[anzahlZeilen];
+            daten.get(aktionen);
+            return new Politik(aktionen);
+        }
+    }
+
+    // --- Hilfsmethoden ---
+
+    // Erst in eine temporäre Datei schreiben, dann atomar über die Zieldatei umbenennen
+    static void schreibeAtomar(String dateiPfad, ByteBuffer header, ByteBuffer daten) throws IOException {
+        Path ziel = Path.of(dateiPfad);
+        Path temp = Path.of(dateiPfad + TEMP_ENDUNG);
+        try (FileChannel kanal = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer[] puffer = {header, daten};
+            while (header.hasRemaining() || daten.hasRemaining()) {
+                kanal.write(puffer);
+            }
+            kanal.force(false);
+        }
+        try {
+            Files.move(temp, ziel, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, ziel, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    static int layout(ZustandsRaum raum) {
+        return raum == ZustandsRaum.KANONISCH ? LAYOUT_SYMMETRISCH : LAYOUT_VOLL;
+    }
+
+    static ZustandsRaum raum(int layout) throws IOException {
+        return switch (layout) {
+            case LAYOUT_VOLL -> ZustandsRaum.VOLL;
+            case LAYOUT_SYMMETRISCH -> ZustandsRaum.KANONISCH;
+            default -> throw new IOException("Unbekanntes Layout der Wissensdatei: " + layout);
+        };
+    }
+
+    // Q-Werte little-endian, wie im Datenblock der Wissensdatei
+    private static ByteBuffer datenBlock(double[] werte) {
+        ByteBuffer daten = ByteBuffer.allocate(werte.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        daten.asDoubleBuffer().put(werte);
+        return daten;
+    }
+
+    // CRC32 des Datenblocks, den schreibe für diese Tabelle erzeugt
+    private static int pruefsumme(QTabelle qTabelle) {
+        CRC32 crc = new CRC32();
+        crc.update(datenBlock(qTabelle.werte()));
+        return (int) crc.getValue();
+    }
+
+    private static void pruefeSumme(ByteBuffer daten, int pruefsumme) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(daten.duplicate());
+        if ((int) crc.getValue() != pruefsumme) {
+            throw new IOException("Prüfsumme der Wissensdatei stimmt nicht");
+        }
+    }
+
+    static int leseMagic(FileChannel kanal) throws IOException {
+        ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (magic.hasRemaining() && kanal.read(magic, magic.position()) > 0) {
+            // lesen, bis 4 Bytes da sind
+        }
+        return magic.flip().remaining() == Integer.BYTES ? magic.getInt() : 0;
+    }
+
+    private static Inhalt ladeAltesFormat(String dateiPfad) throws IOException {
+        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(dateiPfad))) {
+            // 1. Array laden (kompakt oder altes double[][]-Format)
+            QTabelle qTabelle = QTabelle.ausGespeichertemObjekt(ois.readObject());
+            // 2. Epsilon-Wert laden (Muss als double gelesen werden)
+            double epsilon = ois.readDouble();
+            return new Inhalt(qTabelle, epsilon, 0);
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Fehler beim Laden der Q-Matrix: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Erzeugt die Zufallsgeneratoren für Training und Exploration.
+ * <p>
+ * Verwendet wird {@code L64X128MixRandom}: nicht synchronisiert (im Gegensatz zu
+ * {@link java.util.Random}), schnell und statistisch gut. Jeder Trainings-Thread bekommt
+ * einen eigenen Generator; mit festem Seed sind die Läufe reproduzierbar.
+ */
+public final class Zufall {
+    private static final RandomGeneratorFactory<RandomGenerator> FABRIK =
+            RandomGeneratorFactory.of("L64X128MixRandom");
+
+    private Zufall() {
+    }
+
+    /**
+     * @return Ein neuer Generator mit zufälligem Seed.
+     */
+    public static RandomGenerator erzeuge() {
+        return FABRIK.create();
+    }
+
+    /**
+     * @param seed Startwert.
+     * @return Ein neuer Generator, der für denselben Seed dieselbe Folge liefert.
+     */
+    public static RandomGenerator erzeuge(long seed) {
+        return FABRIK.create(seed);
+    }
+}
@@ -0,0 +1,52 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import tictactoe.Farbe;
+import tictactoe.Zug;
+import tictactoe.spieler.ISpieler;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Zufallsspieler für das Training: zieht wie {@code tictactoe.spieler.beispiel.Zufallsspieler}
+ * gleichverteilt auf ein leeres Feld, arbeitet aber auf einem {@link BitSpielfeld}, wird
+ * zwischen den Spielen nur zurückgesetzt und nutzt einen von außen übergebenen
+ * Zufallsgenerator. Pro Zug wird nichts allokiert.
+ */
+public class ZufallsGegner implements ISpieler {
+
+    private String name;
+    private Farbe farbe;
+    private final BitSpielfeld spielfeld = new BitSpielfeld();
+    private final RandomGenerator random;
+
+    public ZufallsGegner(String name) {
+        this(name, Zufall.erzeuge());
+    }
+
+    public ZufallsGegner(String name, RandomGenerator random) {
+        this.name = name;
+        this.random = random;
+    }
+
+    @Override
+    public void neuesSpiel(Farbe farbe, int bedenkzeitInSekunden) {
+        this.farbe = farbe;
+        this.spielfeld.leeren();
+    }
+
+    @Override
+    public Zug berechneZug(Zug vorherigerZug, long zeitKreis, long zeitKreuz) {
+        // Zunächst eventuellen Zug des Gegners durchführen
+        if (vorherigerZug != null) {
+            spielfeld.setze(BitSpielfeld.feld(vorherigerZug), farbe.opposite());
+        }
+        int feld = BitSpielfeld.zufaelligesFeld(spielfeld.leereFelder(), random);
+        spielfeld.setze(feld, farbe);
+        return BitSpielfeld.zug(feld);
+    }
+
+    @Override public void setName(String name) { this.name = name; }
+    @Override public String getName() { return name; }
+    @Override public void setFarbe(Farbe farbe) { this.farbe = farbe; }
+    @Override public Farbe getFarbe() { return farbe; }
+}
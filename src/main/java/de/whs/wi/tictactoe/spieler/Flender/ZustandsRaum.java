@@ -0,0 +1,134 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import tictactoe.Farbe;
+
+/**
+ * Dichter Index über alle in einer legalen Partie erreichbaren Zustände.
+ * <p>
+ * Von den 3^9 = 19683 ternären Zuständen sind nur 5478 erreichbar (Kreuz beginnt,
+ * nach einem Gewinn wird nicht weitergespielt). Jeder erreichbare Zustand bekommt eine
+ * kompakte Zeile; in der Q-Tabelle belegt eine Zeile nur so viele Werte, wie es legale
+ * Aktionen gibt. Endzustände haben eine Zeile, aber keine Werte.
+ * <p>
+ * {@link #KANONISCH} enthält nur die kanonischen Vertreter der Symmetrieklassen (765 Zustände,
+ * siehe {@link Symmetrie}).
+ */
+public final class ZustandsRaum {
+    public static final int ANZAHL_ZUSTAENDE = 19683; // 3^9 ternäre Zustände
+
+    /** Alle erreichbaren Zustände. */
+    public static final ZustandsRaum VOLL = new ZustandsRaum(false);
+
+    /** Nur die kanonischen Vertreter der erreichbaren Zustände. */
+    public static final ZustandsRaum KANONISCH = new ZustandsRaum(true);
+
+    private final short[] zeileVonZustand = new short[ANZAHL_ZUSTAENDE]; // -1 = nicht erreichbar
+    private final int[] zustandVonZeile;
+    private final short[] legaleAktionen; // pro Zeile, 0 bei Endzuständen
+    private final int[] start;            // pro Zeile Offset in der Q-Tabelle, Länge anzahlZeilen + 1
+
+    private ZustandsRaum(boolean nurKanonisch) {
+        boolean[] erreichbar = new boolean[ANZAHL_ZUSTAENDE];
+        markiereErreichbar(new BitSpielfeld(), Farbe.Kreuz, erreichbar);
+        if (nurKanonisch) {
+            for (int zustand = 0; zustand < ANZAHL_ZUSTAENDE; zustand++) {
+                erreichbar[zustand] &= Symmetrie.kanonisch(zustand) == zustand;
+            }
+        }
+
+        int anzahlZeilen = 0;
+        for (boolean b : erreichbar) {
+            if (b) anzahlZeilen++;
+        }
+        zustandVonZeile = new int[anzahlZeilen];
+        legaleAktionen = new short[anzahlZeilen];
+        start = new int[anzahlZeilen + 1];
+
+        // Zeilen in aufsteigender Reihenfolge der Zustandsindizes vergeben (stabiles Dateilayout)
+        BitSpielfeld feld = new BitSpielfeld();
+        int zeile = 0;
+        for (int zustand = 0; zustand < ANZAHL_ZUSTAENDE; zustand++) {
+            if (!erreichbar[zustand]) {
+                zeileVonZustand[zustand] = -1;
+                continue;
+            }
+            feld.ladeZustand(zustand);
+            int maske = feld.istBeendet() ? 0 : feld.leereFelder();
+            zeileVonZustand[zustand] = (short) zeile;
+            zustandVonZeile[zeile] = zustand;
+            legaleAktionen[zeile] = (short) maske;
+            start[zeile + 1] = start[zeile] + Integer.bitCount(maske);
+            zeile++;
+        }
+    }
+
+    private static void markiereErreichbar(BitSpielfeld feld, Farbe amZug, boolean[] erreichbar) {
+        int zustand = feld.zustandsIndex();
+        if (erreichbar[zustand]) {
+            return;
+        }
+        erreichbar[zustand] = true;
+        if (feld.istBeendet()) {
+            return;
+        }
+        for (int maske = feld.leereFelder(); maske != 0; maske &= maske - 1) {
+            int aktion = Integer.numberOfTrailingZeros(maske);
+            feld.setze(aktion, amZug);
+            markiereErreichbar(feld, amZug.opposite(), erreichbar);
+            feld.entferne(aktion);
+        }
+    }
+
+    // --- Abbildung Zustand <-> Zeile ---
+
+    /**
+     * @param zustand Ternärer Zustandsindex.
+     * @return Die kompakte Zeile oder -1, wenn der Zustand nicht erreichbar ist.
+     */
+    public int zeile(int zustand) {
+        return zeileVonZustand[zustand];
+    }
+
+    public int zustand(int zeile) {
+        return zustandVonZeile[zeile];
+    }
+
+    public int anzahlZeilen() {
+        return zustandVonZeile.length;
+    }
+
+    /**
+     * @return Anzahl aller Q-Werte (Summe der legalen Aktionen über alle Zeilen).
+     */
+    public int anzahlWerte() {
+        return start[zustandVonZeile.length];
+    }
+
+    /**
+     * @param zeile Kompakte Zeile.
+     * @return Bitmaske der legalen Aktionen, 0 bei Endzuständen.
+     */
+    public int legaleAktionen(int zeile) {
+        return legaleAktionen[zeile];
+    }
+
+    /**
+     * @param zeile Kompakte Zeile.
+     * @return Offset des ersten Q-Werts der Zeile.
+     */
+    public int start(int zeile) {
+        return start[zeile];
+    }
+
+    /**
+     * Position eines Q-Werts: die legalen Aktionen einer Zeile liegen aufsteigend
+     * hintereinander, der Rang der Aktion in der Maske ist der Versatz.
+     *
+     * @param zeile  Kompakte Zeile.
+     * @param aktion Legale Aktion (0-8).
+     * @return Offset des Q-Werts in der Q-Tabelle.
+     */
+    public int position(int zeile, int aktion) {
+        return start[zeile] + Integer.bitCount(legaleAktionen[zeile] & ((1 << aktion) - 1));
+    }
+}
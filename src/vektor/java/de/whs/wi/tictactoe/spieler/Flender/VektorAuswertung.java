@@ -0,0 +1,65 @@
+package de.whs.wi.tictactoe.spieler.Flender;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD-Variante von {@link StapelAuswertung} mit der Vector API. Liegt in einem eigenen
+ * Quellverzeichnis und wird nur mit dem Maven-Profil {@code vektor} gebaut; geladen wird sie
+ * nur, wenn das Modul {@code jdk.incubator.vector} verfügbar und {@code -Dtictactoe.vektor=true}
+ * gesetzt ist.
+ * <p>
+ * Die Q-Werte einer Zeile liegen zusammenhängend, es gibt höchstens 9. Sie werden mit einer
+ * maskierten Ladeoperation (Maske = Anzahl legaler Aktionen) in einen Vektor geholt und per
+ * Lane-Reduktion maximiert; die erste Lane mit dem Maximum ist die beste Aktion, damit
+ * gewinnt wie im skalaren Fall bei Gleichstand die kleinste Aktion. Ist der Vektor kürzer als
+ * die Zeile (z.B. 8 Lanes bei AVX-512), wird in mehreren Stücken gerechnet.
+ */
+final class VektorAuswertung implements StapelAuswertung.Auswertung {
+    private static final VectorSpecies<Double> ART = DoubleVector.SPECIES_PREFERRED;
+
+    VektorAuswertung() {
+    }
+
+    @Override
+    public void besteAktionen(QTabelle tabelle, int[] zeilen, int anzahl, int[] aktionen) {
+        ZustandsRaum raum = tabelle.raum();
+        double[] werte = tabelle.werte();
+        for (int i = 0; i < anzahl; i++) {
+            int zeile = zeilen[i];
+            int von = raum.start(zeile);
+            int laenge = raum.start(zeile + 1) - von;
+            double maxQ = -Double.MAX_VALUE;
+            int rang = -1;
+            for (int k = 0; k < laenge; k += ART.length()) {
+                VectorMask<Double> maske = ART.indexInRange(k, laenge);
+                DoubleVector q = DoubleVector.fromArray(ART, werte, von + k, maske);
+                double stueckMax = q.reduceLanes(VectorOperators.MAX, maske);
+                if (stueckMax > maxQ) {
+                    maxQ = stueckMax;
+                    rang = k + q.compare(VectorOperators.EQ, stueckMax, maske).firstTrue();
+                }
+            }
+            aktionen[i] = rang < 0 ? -1 : BitSpielfeld.ntesFeld(raum.legaleAktionen(zeile), rang);
+        }
+    }
+
+    @Override
+    public void maxWerte(QTabelle tabelle, int[] zeilen, int anzahl, double[] maxWerte) {
+        ZustandsRaum raum = tabelle.raum();
+        double[] werte = tabelle.werte();
+        for (int i = 0; i < anzahl; i++) {
+            int von = raum.start(zeilen[i]);
+            int laenge = raum.start(zeilen[i] + 1) - von;
+            double maxQ = laenge == 0 ? 0.0 : -Double.MAX_VALUE;
+            for (int k = 0; k < laenge; k += ART.length()) {
+                VectorMask<Double> maske = ART.indexInRange(k, laenge);
+                DoubleVector q = DoubleVector.fromArray(ART, werte, von + k, maske);
+                maxQ = Math.max(maxQ, q.reduceLanes(VectorOperators.MAX, maske));
+            }
+            maxWerte[i] = maxQ;
+        }
+    }
+}